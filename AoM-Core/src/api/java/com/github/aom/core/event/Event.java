@@ -24,6 +24,11 @@ public abstract class Event {
     private boolean mCancelled;
     private boolean mCancellable;
 
+    //!
+    //! True if the event has been released into a pool while retention is being detected.
+    //!
+    boolean mReleased;
+
     /**
      * Default constructor for {@link Event}.
      *
@@ -39,6 +44,7 @@ public abstract class Event {
      * be executed in the server, but will still pass to other plugins.
      */
     final public boolean isCancelled() {
+        checkReleased();
         return mCancellable && mCancelled;
     }
 
@@ -49,6 +55,27 @@ public abstract class Event {
      * @param cancel True if you wish to cancel this event.
      */
     final public void setCancelled(boolean cancel) {
+        checkReleased();
         mCancelled = cancel;
     }
+
+    /**
+     * Resets the state of the event before being reused by a pool.
+     * <br/>
+     * NOTE: Implementations must release every reference held by the event.
+     */
+    protected void recycle() {
+        mCancelled = false;
+    }
+
+    /**
+     * Check that the event has not been released into a pool.
+     *
+     * @throws IllegalStateException If the event has been retained after being released.
+     */
+    protected final void checkReleased() {
+        if (mReleased) {
+            throw new IllegalStateException("Pooled event cannot be retained after being dispatched.");
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Consumer} of {@link Event}(s) that handles every event of a batch at once.
+ * <br/>
+ * NOTE: The batch is only valid during the call, consumers must not retain it.
+ */
+@FunctionalInterface
+public interface EventBatchConsumer<T extends Event> extends Consumer<T> {
+    /**
+     * Handle a batch of events, in the order they have been invoked.
+     *
+     * @param events The events to handle.
+     */
+    public void acceptAll(List<T> events);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default public void accept(T event) {
+        acceptAll(Collections.singletonList(event));
+    }
+}
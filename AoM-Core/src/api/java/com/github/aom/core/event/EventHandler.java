@@ -24,6 +24,9 @@ import java.lang.annotation.Target;
 
 /**
  * An annotation to mark methods as {@link Event}s handlers.
+ * <br/>
+ * NOTE: A method taking a {@link java.util.List} of events (e.g {@code List<SessionMessageEvent>}) receives
+ * every batch at once, as an {@link EventBatchConsumer} does.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
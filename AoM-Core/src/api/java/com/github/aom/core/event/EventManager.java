@@ -17,7 +17,10 @@
  */
 package com.github.aom.core.event;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Define a service for subscribing to {@link Event}s.
@@ -38,6 +41,49 @@ public interface EventManager {
      */
     public <T extends Event> T invokeEvent(T event, Consumer<T> consumer);
 
+    /**
+     * Invokes a synchronised event, only created if there is any consumer subscribed to it.
+     *
+     * @param type     The class of the event.
+     * @param supplier The supplier of the event to be invoked by the manager.
+     *
+     * @return The event that has been invoked or null if there was no consumer subscribed to it.
+     */
+    default public <T extends Event> T invokeEvent(Class<T> type, Supplier<T> supplier) {
+        return hasListeners(type) ? invokeEvent(supplier.get()) : null;
+    }
+
+    /**
+     * Invokes a batch of synchronised events, every consumer handles the whole batch before the next one.
+     * <br/>
+     * NOTE: Consumers implementing {@link EventBatchConsumer} receive the batch at once.
+     *
+     * @param type   The class of the events.
+     * @param events The events to be invoked by the manager.
+     */
+    public <T extends Event> void invokeEvents(Class<T> type, List<T> events);
+
+    /**
+     * Invokes a batch of synchronised events, every consumer handles the whole batch before the next one.
+     * <br/>
+     * NOTE: Consumers implementing {@link EventBatchConsumer} receive the batch at once.
+     *
+     * @param type   The class of the events.
+     * @param events The events to be invoked by the manager.
+     */
+    default public <T extends Event> void invokeEvents(Class<T> type, T[] events) {
+        invokeEvents(type, Arrays.asList(events));
+    }
+
+    /**
+     * Check if there is any consumer subscribed to the given {@link Event}, or to any of its super-types.
+     *
+     * @param type The class of the event.
+     *
+     * @return True if the event has any consumer, false otherwise.
+     */
+    public boolean hasListeners(Class<? extends Event> type);
+
     /**
      * Invokes an asynchronous event and executes the completion consumer afterwards.
      *
@@ -19,42 +19,46 @@ package com.github.aom.core.event;
 
 /**
  * Enumerates all possible priorities of an {@link Event}.
+ * <br/>
+ * Consumers are executed from {@link #LOWEST} to {@link #HIGHEST}, so the highest priority runs last and has
+ * the final say on the outcome of the event. Within the same level, the priority that ignores cancelled events
+ * runs after the one that does not.
  */
 public enum EventPriority {
     /**
-     * Highest priority is executed before all others.
+     * Highest priority is executed after all others, it has the final say and receives cancelled events.
      */
     HIGHEST(0, true),
     /**
-     * High priority which ignores cancelled events.
+     * High priority which ignores cancelled events, executed after high priority.
      */
     HIGH_IGNORE_CANCELLED(1, true),
     /**
-     * High priority executed after highest priority.
+     * High priority executed after normal priorities.
      */
     HIGH(1, false),
     /**
-     * Normal priority which ignores cancelled events.
+     * Normal priority which ignores cancelled events, executed after normal priority.
      */
     NORMAL_IGNORE_CANCELLED(2, true),
     /**
-     * Normal priority executed after high priority.
+     * Normal priority executed after low priorities.
      */
     NORMAL(2, false),
     /**
-     * Low priority which ignores cancelled events.
+     * Low priority which ignores cancelled events, executed after low priority.
      */
     LOW_IGNORE_CANCELLED(3, true),
     /**
-     * Low is executed after lowest priorities.
+     * Low priority executed after lowest priorities.
      */
     LOW(3, false),
     /**
-     * Lowest priority which ignores cancelled events.
+     * Lowest priority which ignores cancelled events, executed after lowest priority.
      */
     LOWEST_IGNORE_CANCELLED(4, true),
     /**
-     * Lowest is executes as the first priority.
+     * Lowest priority is executed before all others.
      */
     LOWEST(4, false);
 
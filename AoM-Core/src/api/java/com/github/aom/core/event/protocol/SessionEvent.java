@@ -24,7 +24,7 @@ import com.github.aom.core.protocol.Session;
  * An {@link Event} used to signify a {@link Session} based event.
  */
 public abstract class SessionEvent extends Event {
-    private final Session mSession;
+    private Session mSession;
 
     /**
      * Default constructor for {@link SessionEvent}.
@@ -43,6 +43,25 @@ public abstract class SessionEvent extends Event {
      * @return The session of the event.
      */
     public final Session getSession() {
+        checkReleased();
         return mSession;
     }
+
+    /**
+     * Changes the {@link Session} of the event.
+     *
+     * @param session The session of the event.
+     */
+    protected final void setSession(Session session) {
+        mSession = session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void recycle() {
+        super.recycle();
+        mSession = null;
+    }
 }
\ No newline at end of file
@@ -22,9 +22,11 @@ import com.github.aom.core.protocol.Session;
 
 /**
  * Define an {@link SessionEvent} to handle when a message is received.
+ * <br/>
+ * NOTE: The engine may reuse the event once dispatched, consumers must not retain it nor its message.
  */
 public final class SessionMessageEvent extends SessionEvent {
-    private final Message mMessage;
+    private Message mMessage;
 
     /**
      * Default constructor for {@link SessionMessageEvent}.
@@ -42,6 +44,32 @@ public final class SessionMessageEvent extends SessionEvent {
      * @return A reference to the message of the event.
      */
     public <T extends Message> T getMessage() {
+        checkReleased();
         return (T) mMessage;
     }
+
+    /**
+     * Changes the session and the message of the event.
+     * <br/>
+     * NOTE: Package-private so only the engine may rewrite an event, when reusing a pooled one.
+     *
+     * @param session The session of the event.
+     * @param message The message of the event.
+     *
+     * @return A reference to the event.
+     */
+    SessionMessageEvent reset(Session session, Message message) {
+        setSession(session);
+        this.mMessage = message;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void recycle() {
+        super.recycle();
+        mMessage = null;
+    }
 }
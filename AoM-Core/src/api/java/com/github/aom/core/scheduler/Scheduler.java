@@ -17,6 +17,8 @@
  */
 package com.github.aom.core.scheduler;
 
+import java.util.Map;
+
 /**
  * Encapsulate the scheduler.
  */
@@ -34,4 +36,93 @@ public interface Scheduler extends TaskExecutor {
      * @return True if the scheduler is overloaded, false otherwise.
      */
     public boolean isOverloaded();
+
+    /**
+     * Retrieves the time budget of a single tick.
+     *
+     * @return The time (in nanoseconds) of a single tick.
+     */
+    public long getTickBudget();
+
+    /**
+     * Retrieves the time spent executing the last tick.
+     *
+     * @return The time (in nanoseconds) the last tick spent executing tasks.
+     */
+    public long getTickWorkTime();
+
+    /**
+     * Retrieves the time spent idle after the last tick.
+     *
+     * @return The time (in nanoseconds) the last tick spent waiting for the next tick.
+     */
+    public long getTickIdleTime();
+
+    /**
+     * Retrieves the number of the current tick.
+     * <br/>
+     * NOTE: Delays and periods of tasks are relative to this number.
+     *
+     * @return The number of ticks since the scheduler has been started.
+     */
+    public long getTick();
+
+    /**
+     * Retrieves the time the current tick started.
+     *
+     * @return The time (in nanoseconds of the scheduler's clock) the current tick started.
+     */
+    public long getTickStartTime();
+
+    /**
+     * Runs the given command on the next tick, before the tasks of the {@link TaskPhase#SIMULATION} phase.
+     * <br/>
+     * NOTE: The command has neither owner nor priority and cannot be cancelled, which makes it the
+     * cheapest way to defer work to the next tick. Commands run in the order they were added.
+     *
+     * @param command The command to be executed.
+     */
+    public void runNextTick(Runnable command);
+
+    /**
+     * Retrieves how many synchronous lanes the scheduler has.
+     *
+     * @return The number of lanes, including the main lane.
+     */
+    public int getLaneCount();
+
+    /**
+     * Retrieves the lane of the given affinity key.
+     * <br/>
+     * Each lane ticks on its own thread and keeps its own tasks and tick metrics, tasks invoked on the same
+     * lane never run concurrently. Invoking a task on the lane of another key is the way to pass a message
+     * between lanes.
+     *
+     * @param key The affinity key (e.g the identifier of a map), null for the main lane.
+     *
+     * @return A reference to the lane of the key.
+     */
+    public Scheduler getLane(Object key);
+
+    /**
+     * Retrieves how many tasks of this lane belong to the given owner.
+     * <br/>
+     * NOTE: This method must run on the thread of the lane, the tasks of another lane are counted by
+     * the lane returned from {@link #getLane(Object)}.
+     *
+     * @param owner The owner of the tasks.
+     *
+     * @return The number of tasks that belong to the owner.
+     */
+    public int getTaskCount(Object owner);
+
+    /**
+     * Retrieves how many tasks of this lane belong to each owner.
+     * <br/>
+     * NOTE: This method must run on the thread of the lane, the tasks of another lane are counted by
+     * the lane returned from {@link #getLane(Object)}.
+     *
+     * @return A snapshot that maps (by identity) each owner to its number of tasks.
+     */
+    public Map<Object, Integer> getTaskCountByOwner();
 }
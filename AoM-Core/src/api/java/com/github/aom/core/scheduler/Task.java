@@ -21,4 +21,12 @@ package com.github.aom.core.scheduler;
  * Define a task being executed by a {@link TaskExecutor}.
  */
 public interface Task {
+    /**
+     * Changes the hook executed once the task has been cancelled, including when the executor rejects it.
+     * <br/>
+     * NOTE: The hook runs on the thread that cancelled the task, at once if the task was already cancelled.
+     *
+     * @param hook The hook to be executed.
+     */
+    public void setCancelHook(Runnable hook);
 }
@@ -17,7 +17,11 @@
  */
 package com.github.aom.core.scheduler;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Encapsulate an executor of {@link Task}s.
@@ -29,11 +33,42 @@ public interface TaskExecutor {
      * @param owner    The owner of the task to be executed.
      * @param consumer The executor method of the task.
      * @param priority The priority of the task.
+     * @param phase    The phase of the tick where the task is executed.
+     * @param repeat   The way the task is repeated.
      * @param delay    The delay in ticks to execute the task.
      * @param period   The period in ticks to repeat the task.
      * @param isAsync  True if the task runs parallel, false otherwise.
      */
-    public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, long delay, long period, boolean isAsync);
+    public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, TaskRepeat repeat, long delay, long period, boolean isAsync);
+
+    /**
+     * Invokes a task to be executed, repeated with {@link TaskRepeat#FIXED_DELAY}.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param phase    The phase of the tick where the task is executed.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     * @param isAsync  True if the task runs parallel, false otherwise.
+     */
+    default public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, long delay, long period, boolean isAsync) {
+        return invoke(owner, consumer, priority, phase, TaskRepeat.FIXED_DELAY, delay, period, isAsync);
+    }
+
+    /**
+     * Invokes a task to be executed in the {@link TaskPhase#SIMULATION} phase.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     * @param isAsync  True if the task runs parallel, false otherwise.
+     */
+    default public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, long delay, long period, boolean isAsync) {
+        return invoke(owner, consumer, priority, TaskPhase.SIMULATION, delay, period, isAsync);
+    }
 
     /**
      * Invokes a synchronised task with {@link TaskPriority#NORMAL} priority.
@@ -56,6 +91,18 @@ public interface TaskExecutor {
         return invoke(owner, consumer, priority, 0, -1, false);
     }
 
+    /**
+     * Invokes a synchronised task with the given priority in the given phase.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param phase    The phase of the tick where the task is executed.
+     */
+    default public Task invokeTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase) {
+        return invoke(owner, consumer, priority, phase, 0, -1, false);
+    }
+
     /**
      * Invokes a synchronised task to be executed with the given priority and executed after the delay period.
      *
@@ -81,6 +128,49 @@ public interface TaskExecutor {
         return invoke(owner, consumer, priority, delay, period, false);
     }
 
+    /**
+     * Invokes a repeating synchronised task with the given priority in the given phase.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param phase    The phase of the tick where the task is executed.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     */
+    default public Task invokeRepeatingTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, long delay, long period) {
+        return invoke(owner, consumer, priority, phase, delay, period, false);
+    }
+
+    /**
+     * Invokes a repeating synchronised task with the given priority and the given repeat mode.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param repeat   The way the task is repeated.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     */
+    default public Task invokeRepeatingTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskRepeat repeat, long delay, long period) {
+        return invoke(owner, consumer, priority, TaskPhase.SIMULATION, repeat, delay, period, false);
+    }
+
+    /**
+     * Invokes a repeating synchronised task with the given priority and the given repeat mode in the given phase.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param phase    The phase of the tick where the task is executed.
+     * @param repeat   The way the task is repeated.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     */
+    default public Task invokeRepeatingTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, TaskRepeat repeat, long delay, long period) {
+        return invoke(owner, consumer, priority, phase, repeat, delay, period, false);
+    }
+
     /**
      * Invokes an asynchronous task with {@link TaskPriority#NORMAL} priority.
      *
@@ -127,6 +217,116 @@ public interface TaskExecutor {
         return invoke(owner, consumer, priority, delay, period, true);
     }
 
+    /**
+     * Invokes a repeating asynchronous task with the given priority and the given repeat mode.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param consumer The executor method of the task.
+     * @param priority The priority of the task.
+     * @param repeat   The way the task is repeated.
+     * @param delay    The delay in ticks to execute the task.
+     * @param period   The period in ticks to repeat the task.
+     */
+    default public Task invokeRepeatingAsyncTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskRepeat repeat, long delay, long period) {
+        return invoke(owner, consumer, priority, TaskPhase.SIMULATION, repeat, delay, period, true);
+    }
+
+    /**
+     * Invokes an asynchronous task that produces a result.
+     * <br/>
+     * NOTE: The future is cancelled with a {@link CancellationException} if the task is cancelled or rejected.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param supplier The supplier of the result.
+     *
+     * @return A future completed with the result of the supplier, on the asynchronous channel.
+     */
+    default public <T> CompletableFuture<T> supplyAsync(Object owner, Supplier<T> supplier) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        invokeAsyncTask(owner, (task) -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }).setCancelHook(() -> future.cancel(false));
+        return future;
+    }
+
+    /**
+     * Invokes an asynchronous task.
+     * <br/>
+     * NOTE: The future is cancelled with a {@link CancellationException} if the task is cancelled or rejected.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param runnable The executor method of the task.
+     *
+     * @return A future completed when the task has been executed, on the asynchronous channel.
+     */
+    default public CompletableFuture<Void> runAsync(Object owner, Runnable runnable) {
+        return supplyAsync(owner, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Invokes a synchronised task that produces a result on the next tick.
+     * <br/>
+     * NOTE: The future is cancelled with a {@link CancellationException} if the task is cancelled.
+     *
+     * @param owner    The owner of the task to be executed.
+     * @param supplier The supplier of the result.
+     *
+     * @return A future completed with the result of the supplier, on the synchronous channel.
+     */
+    default public <T> CompletableFuture<T> supplySync(Object owner, Supplier<T> supplier) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        invokeTask(owner, (task) -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }).setCancelHook(() -> future.cancel(false));
+        return future;
+    }
+
+    /**
+     * Retrieves an {@link Executor} that runs every command as a synchronised task on the next tick.
+     * <br/>
+     * Used to continue a future on the synchronous channel, for example:
+     * <pre>
+     * executor.supplyAsync(owner, this::load).thenAcceptAsync(this::apply, executor.getSyncExecutor(owner));
+     * </pre>
+     * NOTE: An {@link Executor} cannot fail a command once accepted, so the command of a cancelled task
+     * is dropped and the future continued on it is never completed. Continuations that must observe the
+     * cancellation of their owner should be composed with {@link #supplySync(Object, Supplier)} instead:
+     * <pre>
+     * executor.supplyAsync(owner, this::load).thenCompose((T) -> executor.supplySync(owner, () -> apply(T)));
+     * </pre>
+     *
+     * @param owner The owner of the tasks to be executed.
+     *
+     * @return An executor backed by the synchronous channel.
+     */
+    default public Executor getSyncExecutor(Object owner) {
+        return (command) -> invokeTask(owner, (task) -> command.run());
+    }
+
+    /**
+     * Retrieves an {@link Executor} that runs every command as an asynchronous task.
+     * <br/>
+     * NOTE: The command of a cancelled or rejected task is dropped, see {@link #getSyncExecutor(Object)}.
+     *
+     * @param owner The owner of the tasks to be executed.
+     *
+     * @return An executor backed by the asynchronous channel.
+     */
+    default public Executor getAsyncExecutor(Object owner) {
+        return (command) -> invokeAsyncTask(owner, (task) -> command.run());
+    }
+
     /**
      * Cancel the given {@link Task}.
      *
@@ -136,6 +336,8 @@ public interface TaskExecutor {
 
     /**
      * Cancel all tasks that belong to the given owner.
+     * <br/>
+     * NOTE: When called outside the executor's thread the tasks are cancelled on its next tick.
      *
      * @param owner The owner of the tasks.
      */
@@ -143,6 +345,8 @@ public interface TaskExecutor {
 
     /**
      * Cancel all tasks.
+     * <br/>
+     * NOTE: When called outside the executor's thread the tasks are cancelled on its next tick.
      */
     public void cancelAllTasks();
 }
@@ -0,0 +1,46 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+/**
+ * Enumerates the phases of a tick, in the order they are executed.
+ * <br/>
+ * NOTE: Only synchronised {@link Task}s are bound to a phase.
+ */
+public enum TaskPhase {
+    /**
+     * Phase executed before any network message is handled.
+     */
+    PRE_NETWORK,
+    /**
+     * Phase that handles every message received since the last tick.
+     */
+    INBOUND,
+    /**
+     * Phase that executes the game logic.
+     */
+    SIMULATION,
+    /**
+     * Phase executed after the game logic, before any message is sent.
+     */
+    POST_SIMULATION,
+    /**
+     * Phase that flushes every message produced during the tick.
+     */
+    OUTBOUND
+}
@@ -0,0 +1,44 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+/**
+ * Enumerates how a repeating {@link Task} is re-armed after each run.
+ * <br/>
+ * NOTE: A fixed-rate task keeps the schedule of its first run, measured on the clock of the scheduler
+ * rather than in ticks, so the runs missed while ticks were late or dropped are still accounted. The
+ * policy decides what happens to those runs.
+ */
+public enum TaskRepeat {
+    /**
+     * Repeat the task a period after the tick its last run was executed.
+     */
+    FIXED_DELAY,
+    /**
+     * Repeat the task every period, every missed run is executed (one per tick) until it catches up.
+     */
+    FIXED_RATE,
+    /**
+     * Repeat the task every period, the missed runs are collapsed into a single run.
+     */
+    FIXED_RATE_ONCE,
+    /**
+     * Repeat the task every period, the missed runs are skipped.
+     */
+    FIXED_RATE_SKIP
+}
@@ -0,0 +1,156 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Define a benchmark of {@link TimingWheel} against the {@link PriorityQueue} it replaced.
+ * <br/>
+ * Each run keeps a steady state of live tasks, every expired task is re-scheduled with a random delay
+ * so the number of live tasks never changes. The result is the time of an expiry and its re-schedule.
+ */
+public final class TimingWheelBenchmark {
+    /**
+     * Define the number of live tasks of each run.
+     */
+    private final static int[] LIVE_TASKS = {10000, 100000, 1000000};
+
+    /**
+     * Define the number of expiries measured by each run.
+     */
+    private final static long OPERATIONS = 5000000L;
+
+    /**
+     * Define the maximum delay (in ticks) of a task.
+     */
+    private final static int MAXIMUM_DELAY = 60000;
+
+    /**
+     * Define the number of runs of each structure, the first ones warm up the JIT.
+     */
+    private final static int RUNS = 3;
+
+    /**
+     * Define the order of the {@link PriorityQueue} the scheduler used before the wheel, by time and then
+     * by {@link TaskPriority#getDeferredTime()} so {@link TaskPriority#CRITICAL} runs first, as in the wheel.
+     */
+    private final static Comparator<SimpleTask> QUEUE_ORDER = (first, second) -> {
+        final int order = Long.compare(first.getTime(), second.getTime());
+        return order != 0 ? order : first.getPriority().getDeferredTime() - second.getPriority().getDeferredTime();
+    };
+
+    private final static TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args The arguments of the benchmark, the number of live tasks of each run (optional).
+     */
+    public static void main(String[] args) {
+        final int[] sizes = new int[args.length > 0 ? args.length : LIVE_TASKS.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = (args.length > 0 ? Integer.parseInt(args[i]) : LIVE_TASKS[i]);
+        }
+        for (final int size : sizes) {
+            for (int run = 0; run < RUNS; run++) {
+                System.out.printf("live tasks %8d: queue %7.1f ns, wheel %7.1f ns%n",
+                        size, runQueue(size), runWheel(size));
+            }
+        }
+    }
+
+    /**
+     * Measures the {@link PriorityQueue} with the given number of live tasks.
+     *
+     * @param size The number of live tasks.
+     *
+     * @return The time (in nanoseconds) of an expiry and its re-schedule.
+     */
+    private static double runQueue(int size) {
+        final Random random = new Random(size);
+        final PriorityQueue<SimpleTask> queue = new PriorityQueue<>(QUEUE_ORDER);
+        for (int i = 0; i < size; i++) {
+            queue.add(newTask(random, 1L + random.nextInt(MAXIMUM_DELAY)));
+        }
+
+        final long start = System.nanoTime();
+        long operations = 0L;
+        for (long tick = 1L; operations < OPERATIONS; tick++) {
+            while (!queue.isEmpty() && queue.peek().getTime() <= tick) {
+                final SimpleTask task = queue.poll();
+                queue.add(newTask(random, tick + 1L + random.nextInt(MAXIMUM_DELAY), task.getPriority()));
+                operations++;
+            }
+        }
+        return (double) (System.nanoTime() - start) / operations;
+    }
+
+    /**
+     * Measures the {@link TimingWheel} with the given number of live tasks.
+     *
+     * @param size The number of live tasks.
+     *
+     * @return The time (in nanoseconds) of an expiry and its re-schedule.
+     */
+    private static double runWheel(int size) {
+        final Random random = new Random(size);
+        final TimingWheel wheel = new TimingWheel(0L);
+        for (int i = 0; i < size; i++) {
+            wheel.add(newTask(random, 1L + random.nextInt(MAXIMUM_DELAY)));
+        }
+
+        final long start = System.nanoTime();
+        final long[] operations = new long[1];
+        for (long tick = 1L; operations[0] < OPERATIONS; tick++) {
+            final long time = tick;
+            wheel.advance(time, (T) -> {
+                wheel.add(newTask(random, time + 1L + random.nextInt(MAXIMUM_DELAY), T.getPriority()));
+                operations[0]++;
+            });
+        }
+        return (double) (System.nanoTime() - start) / operations[0];
+    }
+
+    /**
+     * Creates a task with a random priority.
+     *
+     * @param random The random generator of the benchmark.
+     * @param time   The tick the task is due.
+     *
+     * @return A new task.
+     */
+    private static SimpleTask newTask(Random random, long time) {
+        return newTask(random, time, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+    }
+
+    /**
+     * Creates a task with the given priority.
+     *
+     * @param random   The random generator of the benchmark.
+     * @param time     The tick the task is due.
+     * @param priority The priority of the task.
+     *
+     * @return A new task.
+     */
+    private static SimpleTask newTask(Random random, long time, TaskPriority priority) {
+        return new SimpleTask(null, null, priority, TaskPhase.SIMULATION, TaskRepeat.FIXED_DELAY, false, time, -1L);
+    }
+}
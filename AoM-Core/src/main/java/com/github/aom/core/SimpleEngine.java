@@ -25,8 +25,11 @@ import com.github.aom.core.preference.Preference;
 import com.github.aom.core.preference.yml.YMLPreference;
 import com.github.aom.core.protocol.SessionManager;
 import com.github.aom.core.protocol.SimpleSessionManager;
+import com.github.aom.core.scheduler.AsyncBulkhead;
+import com.github.aom.core.scheduler.AsyncPool;
 import com.github.aom.core.scheduler.Scheduler;
 import com.github.aom.core.scheduler.SimpleScheduler;
+import com.github.aom.core.scheduler.TaskPhase;
 import com.github.aom.core.scheduler.TaskPriority;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -216,6 +219,31 @@ public final class SimpleEngine implements Engine {
             LOGGER.warn(exception);
         }
 
+        // Configure the scheduler.
+        mScheduler.setLaneCount(mPreferences.getInt("scheduler_wLanes", 1));
+        try {
+            final AsyncPool.Mode mode = AsyncPool.Mode.valueOf(
+                    mPreferences.getString("scheduler_wAsyncMode", "WORK_STEALING").toUpperCase());
+            if (mScheduler.getAsyncPool().setMode(mode) != mode) {
+                LOGGER.warn("Asynchronous mode " + mode + " is not supported, using "
+                        + mScheduler.getAsyncPool().getMode() + " instead.");
+            }
+        } catch (IllegalArgumentException exception) {
+            LOGGER.warn(exception);
+        }
+        try {
+            mScheduler.setBulkhead(new AsyncBulkhead(
+                    mPreferences.getInt("scheduler_wAsyncLimit", 0),
+                    mPreferences.getInt("scheduler_wAsyncQueue", 256),
+                    AsyncBulkhead.Policy.valueOf(mPreferences.getString("scheduler_wAsyncPolicy", "QUEUE").toUpperCase())));
+        } catch (IllegalArgumentException exception) {
+            LOGGER.warn(exception);
+        }
+        mScheduler.getProfiler().setEnabled(mPreferences.getBoolean("scheduler_wProfiler", false));
+        mScheduler.getWatchdog().setThreshold(
+                mPreferences.getInt("scheduler_wWatchdogThreshold", 1000),
+                mPreferences.getInt("scheduler_wWatchdogInterval", 10000));
+
         // Load plug-ins and enable them all.
         mPluginManager.loadAllPlugins(FileSystems.getDefault().getPath(PLUGIN_FOLDER), true);
         mPluginManager.enableAllPlugins();
@@ -225,6 +253,10 @@ public final class SimpleEngine implements Engine {
      * Load all network packages.
      */
     private void initNetworkPackages() {
+        mSessionManager.setEventPooling(
+                mPreferences.getBoolean("event_wPooling", false),
+                mPreferences.getBoolean("event_wPoolingDebug", false));
+
         InetAddress address;
         try {
             address = InetAddress.getByName(mPreferences.getString("net_wIP", "0.0.0.0"));
@@ -237,8 +269,12 @@ public final class SimpleEngine implements Engine {
         mSessionManager.bind(address, port);
         getLogger().info("Server listening to: " + address.getHostAddress() + ":" + port);
 
-        // Pulse the SessionManager every tick.
-        mScheduler.invokeRepeatingTask(null, (T) -> mSessionManager.pulse(), TaskPriority.CRITICAL, 0L, 1L);
+        // Pulse the SessionManager every tick, messages are handled before the game logic
+        // and flushed after it.
+        mScheduler.invokeRepeatingTask(null,
+                (T) -> mSessionManager.pulseInbound(), TaskPriority.CRITICAL, TaskPhase.INBOUND, 0L, 1L);
+        mScheduler.invokeRepeatingTask(null,
+                (T) -> mSessionManager.pulseOutbound(), TaskPriority.CRITICAL, TaskPhase.OUTBOUND, 0L, 1L);
     }
 
     /**
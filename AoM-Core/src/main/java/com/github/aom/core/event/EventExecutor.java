@@ -17,6 +17,8 @@
  */
 package com.github.aom.core.event;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -27,6 +29,7 @@ public final class EventExecutor<T extends Event> implements Comparable<EventExe
     protected final Object mOwner;
     protected final Object mContainer;
     protected final Consumer<T> mFunction;
+    protected final EventBatchConsumer<T> mBatchFunction;
     protected final EventPriority mPriority;
 
     /**
@@ -37,6 +40,7 @@ public final class EventExecutor<T extends Event> implements Comparable<EventExe
         this.mOwner = owner;
         this.mContainer = container;
         this.mFunction = function;
+        this.mBatchFunction = (function instanceof EventBatchConsumer ? (EventBatchConsumer<T>) function : null);
         this.mPriority = priority;
     }
 
@@ -51,6 +55,48 @@ public final class EventExecutor<T extends Event> implements Comparable<EventExe
         }
     }
 
+    /**
+     * Execute this executor for a batch of events.
+     *
+     * @param events The events to execute.
+     */
+    public void executeAll(List<T> events) {
+        if (mBatchFunction == null) {
+            for (int i = 0, size = events.size(); i < size; i++) {
+                execute(events.get(i));
+            }
+            return;
+        }
+        final List<T> batch = (mPriority.ignoresCancelled() ? events : filter(events));
+        if (!batch.isEmpty()) {
+            mBatchFunction.acceptAll(batch);
+        }
+    }
+
+    /**
+     * Filter every cancelled event of a batch.
+     * <br/>
+     * NOTE: The batch is only copied if any event has been cancelled.
+     *
+     * @param events The events to filter.
+     *
+     * @return The events that are not cancelled.
+     */
+    private List<T> filter(List<T> events) {
+        List<T> batch = events;
+        for (int i = 0, size = events.size(); i < size; i++) {
+            final T event = events.get(i);
+            if (event.isCancelled()) {
+                if (batch == events) {
+                    batch = new ArrayList<>(events.subList(0, i));
+                }
+            } else if (batch != events) {
+                batch.add(event);
+            }
+        }
+        return batch;
+    }
+
     /**
      * {@inheritDoc}
      */
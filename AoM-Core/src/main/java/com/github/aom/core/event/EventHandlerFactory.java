@@ -0,0 +1,159 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.event;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Define a factory that binds {@link EventHandler} methods to a {@link Consumer}.
+ * <br/>
+ * The consumer is generated by {@link LambdaMetafactory}, so invoking a handler costs the same as
+ * invoking a lambda. When the runtime denies access to the listener, the handler is invoked through
+ * a {@link MethodHandle} instead.
+ * <br/>
+ * NOTE: The consumer accepts the parameter of the method, which is either an event or a batch of events.
+ */
+public final class EventHandlerFactory {
+    /**
+     * Define the method to retrieves a private lookup of a class (Java 9 and above).
+     */
+    private final static Method PRIVATE_LOOKUP_IN = getPrivateLookupIn();
+
+    /**
+     * Define the constructor to retrieves a private lookup of a class (Java 8).
+     */
+    private final static Constructor<MethodHandles.Lookup> LOOKUP_CONSTRUCTOR = getLookupConstructor();
+
+    /**
+     * Define the type of the method implemented by the generated consumers.
+     */
+    private final static MethodType CONSUMER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * Creates a consumer that invokes the given handler method of the listener.
+     *
+     * @param listener The listener that contains the method, ignored if the method is static.
+     * @param method   The method annotated with {@link EventHandler}.
+     *
+     * @return A consumer that invokes the method with its parameter.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Consumer<T> create(Object listener, Method method) {
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+        final Class<?> clazz = method.getDeclaringClass();
+        final Class<?> type = method.getParameterTypes()[0];
+
+        final MethodHandles.Lookup lookup = getPrivateLookup(clazz);
+        if (lookup != null) {
+            try {
+                final MethodHandle handle = lookup.unreflect(method);
+                final CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        isStatic ? MethodType.methodType(Consumer.class) : MethodType.methodType(Consumer.class, clazz),
+                        CONSUMER_TYPE,
+                        handle,
+                        MethodType.methodType(void.class, type));
+                return (Consumer<T>) (isStatic ? site.getTarget().invoke() : site.getTarget().invoke(listener));
+            } catch (Throwable throwable) {
+                // Fall back to a method handle.
+            }
+        }
+        try {
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!isStatic) {
+                handle = handle.bindTo(listener);
+            }
+            final MethodHandle invoker = handle.asType(CONSUMER_TYPE);
+            return (event) -> {
+                try {
+                    invoker.invokeExact((Object) event);
+                } catch (RuntimeException | Error exception) {
+                    throw exception;
+                } catch (Throwable throwable) {
+                    throw new IllegalStateException(throwable);
+                }
+            };
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Cannot access event handler " + method, exception);
+        }
+    }
+
+    /**
+     * Retrieves a lookup with private access to the given class.
+     *
+     * @param clazz The class to access.
+     *
+     * @return The lookup of the class or null if the runtime denies it.
+     */
+    private static MethodHandles.Lookup getPrivateLookup(Class<?> clazz) {
+        try {
+            if (PRIVATE_LOOKUP_IN != null) {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, clazz, MethodHandles.lookup());
+            }
+            if (LOOKUP_CONSTRUCTOR != null) {
+                return LOOKUP_CONSTRUCTOR.newInstance(clazz);
+            }
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            // The runtime denies private access to the class.
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves {@code MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)}.
+     *
+     * @return The method or null if the runtime does not have it.
+     */
+    private static Method getPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the private constructor of {@link MethodHandles.Lookup} that grants full access to a class.
+     *
+     * @return The constructor or null if the runtime does not have it.
+     */
+    private static Constructor<MethodHandles.Lookup> getLookupConstructor() {
+        if (PRIVATE_LOOKUP_IN != null) {
+            return null;
+        }
+        try {
+            final Constructor<MethodHandles.Lookup> constructor
+                    = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
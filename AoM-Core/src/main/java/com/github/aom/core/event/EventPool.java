@@ -0,0 +1,88 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.event;
+
+import java.util.function.Supplier;
+
+/**
+ * Define a pool of reusable {@link Event}(s) for events dispatched at high frequency.
+ * <br/>
+ * Events are acquired before being invoked synchronously and released afterwards, consumers must never
+ * retain a pooled event since it will be reused by the next dispatch. When debugging, released events
+ * are never reused and any access to them throws an {@link IllegalStateException}, exposing consumers
+ * that retain them.
+ * <br/>
+ * NOTE: The pool is a single unsynchronised array, it must be confined to one thread and pooled events
+ * must not be invoked asynchronously.
+ */
+public final class EventPool<T extends Event> {
+    private final Supplier<T> mFactory;
+    private final Event[] mEvents;
+    private final boolean mDebug;
+    private int mSize;
+
+    /**
+     * Default constructor for {@link EventPool}.
+     *
+     * @param factory  The factory of the events.
+     * @param capacity The maximum number of events held by the pool.
+     * @param debug    True if the pool should detect events being retained.
+     */
+    public EventPool(Supplier<T> factory, int capacity, boolean debug) {
+        this.mFactory = factory;
+        this.mEvents = new Event[capacity];
+        this.mDebug = debug;
+    }
+
+    /**
+     * Acquires an event from the pool, creating one if the pool is empty.
+     *
+     * @return A reference to the event.
+     */
+    public T acquire() {
+        if (mSize == 0) {
+            return mFactory.get();
+        }
+        final Event event = mEvents[--mSize];
+        mEvents[mSize] = null;
+        return (T) event;
+    }
+
+    /**
+     * Releases an event into the pool.
+     *
+     * @param event The event to release into the pool.
+     */
+    public void release(T event) {
+        event.recycle();
+        if (mDebug) {
+            event.mReleased = true;
+        } else if (mSize < mEvents.length) {
+            mEvents[mSize++] = event;
+        }
+    }
+
+    /**
+     * Check if the pool is detecting events being retained.
+     *
+     * @return True if the pool is in debug mode, false otherwise.
+     */
+    public boolean isDebug() {
+        return mDebug;
+    }
+}
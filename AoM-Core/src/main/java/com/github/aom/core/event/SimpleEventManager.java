@@ -18,23 +18,68 @@
 package com.github.aom.core.event;
 
 import com.github.aom.core.EngineAPI;
-import com.gs.collections.api.map.primitive.MutableIntIntMap;
 import com.gs.collections.api.map.primitive.MutableIntObjectMap;
-import com.gs.collections.impl.factory.primitive.IntIntMaps;
 import com.gs.collections.impl.factory.primitive.IntObjectMaps;
 import net.jodah.typetools.TypeResolver;
 
 import java.lang.reflect.Method;
-import java.util.PriorityQueue;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Define the implementation of {@link EventManager}.
+ * <br/>
+ * Executors are registered for the exact type of their event, and every concrete event class caches
+ * (through a {@link ClassValue}) the executors of itself and all its super-types. The cache is rebuilt
+ * lazily once the registrations have changed.
+ * <br/>
+ * NOTE: Registrations are published as immutable snapshots, so events are dispatched from any thread
+ * without locking while registrations are serialised.
  */
 public final class SimpleEventManager implements EventManager {
-    private final MutableIntIntMap mIds = IntIntMaps.mutable.empty();
-    private final MutableIntObjectMap<PriorityQueue<EventExecutor>> mEvents = IntObjectMaps.mutable.empty();
+    /**
+     * Define the order in which executors are dispatched, by priority from {@link EventPriority#LOWEST} (first)
+     * to {@link EventPriority#HIGHEST} (last, with the final say), and then by order of registration.
+     */
+    private final static Comparator<EventExecutor> EXECUTOR_ORDER
+            = ((Comparator<EventExecutor>) EventExecutor::compareTo).thenComparingInt((T) -> T.mId);
+
+    /**
+     * Define the array of an event without executors.
+     */
+    private final static EventExecutor[] EMPTY_EXECUTORS = new EventExecutor[0];
+
+    /**
+     * Define the cache of an event class that has not been dispatched since the last unregistration.
+     */
+    private final static EventCache EMPTY_CACHE = new EventCache(-1L, EMPTY_EXECUTORS);
+
+    private final Object mLock = new Object();
+    private final MutableIntObjectMap<Class<?>> mIds = IntObjectMaps.mutable.empty();
+    private final ClassValue<EventDispatch> mDispatch = new ClassValue<EventDispatch>() {
+        @Override
+        protected EventDispatch computeValue(Class<?> type) {
+            return new EventDispatch();
+        }
+    };
+    private final Set<EventDispatch> mCached = ConcurrentHashMap.newKeySet();
+    private volatile EventRegistry mRegistry = new EventRegistry(new HashMap<>(), 0L);
     private int mIndex;
 
     /**
@@ -42,13 +87,61 @@ public final class SimpleEventManager implements EventManager {
      */
     @Override
     public <T extends Event> T invokeEvent(T event) {
-        final PriorityQueue<EventExecutor> executors = mEvents.get(event.getClass().hashCode());
-        if (executors != null) {
-            executors.forEach(executor -> executor.execute(event));
+        final EventExecutor[] executors = getExecutors(event.getClass());
+        for (int i = 0; i < executors.length; i++) {
+            executors[i].execute(event);
+        }
+        return event;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Event> T invokeEvent(Class<T> type, Supplier<T> supplier) {
+        EventExecutor[] executors = getExecutors(type);
+        if (executors.length == 0) {
+            return null;
+        }
+        final T event = supplier.get();
+        if (event.getClass() != type) {
+            executors = getExecutors(event.getClass());
+        }
+        for (int i = 0; i < executors.length; i++) {
+            executors[i].execute(event);
         }
         return event;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Event> void invokeEvents(Class<T> type, List<T> events) {
+        final EventExecutor[] executors = getExecutors(type);
+        if (executors.length == 0) {
+            return;
+        }
+        // A sub-type may have consumers of its own, handle those events one by one.
+        for (int i = 0, size = events.size(); i < size; i++) {
+            if (events.get(i).getClass() != type) {
+                events.forEach(this::invokeEvent);
+                return;
+            }
+        }
+        for (int i = 0; i < executors.length; i++) {
+            executors[i].executeAll(events);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasListeners(Class<? extends Event> type) {
+        return getExecutors(type).length > 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -79,15 +172,11 @@ public final class SimpleEventManager implements EventManager {
     public <T extends Event> int registerEvent(Object owner, Consumer<T> consumer, EventPriority priority) {
         final Class<?> clazz = TypeResolver.resolveRawArgument(Consumer.class, consumer.getClass());
 
-        final int id = mIndex++;
-        mIds.put(id, clazz.hashCode());
-
-        PriorityQueue<EventExecutor> executor = mEvents.get(clazz.hashCode());
-        if (executor == null) {
-            mEvents.put(clazz.hashCode(), executor = new PriorityQueue<>());
+        synchronized (mLock) {
+            final int id = mIndex++;
+            register(clazz, new EventExecutor<>(id, owner, null, consumer, priority));
+            return id;
         }
-        executor.add(new EventExecutor<>(id, owner, null, consumer, priority));
-        return id;
     }
 
     /**
@@ -102,27 +191,55 @@ public final class SimpleEventManager implements EventManager {
                 continue;
             }
 
-            // Make the method accessible if it is not.
-            // NOTE: Private and protected methods are not accessible.
-            if (!method.isAccessible()) {
-                method.setAccessible(true);
-            }
-
             final EventHandler annotation = method.getAnnotation(EventHandler.class);
 
-            final Class<?> clazz = method.getParameterTypes()[0];
-            PriorityQueue<EventExecutor> executor = mEvents.get(clazz.hashCode());
-            if (executor == null) {
-                mEvents.put(clazz.hashCode(), executor = new PriorityQueue<>());
+            // Handlers taking a list receive every batch at once.
+            final boolean isBatch = (method.getParameterTypes()[0] == List.class);
+            final Class<?> clazz = (isBatch ? getBatchType(method) : method.getParameterTypes()[0]);
+
+            // Bind the method to a consumer, so the handler is not invoked through reflection.
+            final Consumer<Event> function;
+            if (isBatch) {
+                final Consumer<List<Event>> handler = EventHandlerFactory.create(listener, method);
+                function = (EventBatchConsumer<Event>) (e) -> {
+                    try {
+                        handler.accept(e);
+                    } catch (Exception exception) {
+                        EngineAPI.getEngine().getLogger().warn(exception);
+                    }
+                };
+            } else {
+                final Consumer<Event> handler = EventHandlerFactory.create(listener, method);
+                function = (e) -> {
+                    try {
+                        handler.accept(e);
+                    } catch (Exception exception) {
+                        EngineAPI.getEngine().getLogger().warn(exception);
+                    }
+                };
+            }
+            synchronized (mLock) {
+                register(clazz, new EventExecutor<>(mIndex++, owner, listener, function, annotation.priority()));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the type of the events handled by a method that takes a batch of events.
+     *
+     * @param method The method annotated with {@link EventHandler}.
+     *
+     * @return The class of the events of the batch.
+     */
+    private static Class<?> getBatchType(Method method) {
+        final Type type = method.getGenericParameterTypes()[0];
+        if (type instanceof ParameterizedType) {
+            final Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (argument instanceof Class && Event.class.isAssignableFrom((Class<?>) argument)) {
+                return (Class<?>) argument;
             }
-            executor.add(new EventExecutor<>(mIndex++, owner, listener, (e) -> {
-                try {
-                    method.invoke(listener, e);
-                } catch (Exception exception) {
-                    EngineAPI.getEngine().getLogger().warn(exception);
-                }
-            }, annotation.priority()));
         }
+        throw new IllegalStateException("Event handler " + method + " must take a List of an event class.");
     }
 
     /**
@@ -130,17 +247,18 @@ public final class SimpleEventManager implements EventManager {
      */
     @Override
     public void unregisterEvent(int id) {
-        final int type = mIds.get(id);
-        final PriorityQueue<EventExecutor> executors = mEvents.get(type);
+        synchronized (mLock) {
+            final Class<?> type = mIds.get(id);
 
-        if (executors == null) {
-            throw new IllegalStateException("No events to unregistered of the given type");
-        }
-        final boolean isRemoved = executors.removeIf(
-                (EventExecutor executor) -> executor.mId == id
-        );
-        if (!isRemoved) {
-            throw new IllegalStateException("Failed to unregister event from given plug-in");
+            if (type == null || !mRegistry.mEvents.containsKey(type)) {
+                throw new IllegalStateException("No events to unregistered of the given type");
+            }
+            final boolean isRemoved = unregister(type,
+                    (EventExecutor executor) -> executor.mId == id
+            );
+            if (!isRemoved) {
+                throw new IllegalStateException("Failed to unregister event from given plug-in");
+            }
         }
     }
 
@@ -151,7 +269,9 @@ public final class SimpleEventManager implements EventManager {
     public void unregisterEvents(Object listener) {
         final Predicate<EventExecutor> predicate = executor ->
                 executor.mContainer != null && executor.mContainer.equals(listener);
-        mEvents.forEachValue(collection -> collection.removeIf(predicate));
+        synchronized (mLock) {
+            unregister(null, predicate);
+        }
     }
 
     /**
@@ -161,7 +281,9 @@ public final class SimpleEventManager implements EventManager {
     public void unregisterAllEvents(Object owner) {
         final Predicate<EventExecutor> predicate = executor ->
                 executor.mOwner != null ? executor.mOwner.equals(owner) : owner == null;
-        mEvents.forEachValue(collection -> collection.removeIf(predicate));
+        synchronized (mLock) {
+            unregister(null, predicate);
+        }
     }
 
     /**
@@ -169,6 +291,194 @@ public final class SimpleEventManager implements EventManager {
      */
     @Override
     public void unregisterAllEvents() {
-        mEvents.clear();
+        synchronized (mLock) {
+            mIds.clear();
+            mRegistry = new EventRegistry(new HashMap<>(), mRegistry.mVersion + 1);
+            invalidate();
+        }
+    }
+
+    /**
+     * Retrieves the executors of the given event class, including those of its super-types.
+     *
+     * @param clazz The concrete class of the event.
+     *
+     * @return The executors of the event, sorted in the order they must be dispatched.
+     */
+    private EventExecutor[] getExecutors(Class<?> clazz) {
+        final EventDispatch dispatch = mDispatch.get(clazz);
+        final EventRegistry registry = mRegistry;
+
+        EventCache cache = dispatch.mCache;
+        if (cache.mVersion != registry.mVersion) {
+            cache = new EventCache(registry.mVersion, flatten(registry, clazz));
+            if (cache.mExecutors.length > 0) {
+                // Recorded before being published, an unregistration that misses it is seen below.
+                mCached.add(dispatch);
+                dispatch.mCache = cache;
+                if (mRegistry != registry && dispatch.mCache == cache) {
+                    dispatch.mCache = EMPTY_CACHE;
+                }
+            } else {
+                dispatch.mCache = cache;
+            }
+        }
+        return cache.mExecutors;
+    }
+
+    /**
+     * Resets the cache of every event class that holds executors, so unregistered executors (and the
+     * class loader of their owner) are no longer reachable until the class is dispatched again.
+     * <br/>
+     * NOTE: This method must hold the lock of the registrations, and be called once the new snapshot has
+     * been published so a cache built concurrently from the old snapshot is reset by its reader.
+     */
+    private void invalidate() {
+        for (final Iterator<EventDispatch> iterator = mCached.iterator(); iterator.hasNext(); ) {
+            iterator.next().mCache = EMPTY_CACHE;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Collects the executors of the given class and of all its super-types.
+     *
+     * @param registry The registrations to collect from.
+     * @param clazz    The concrete class of the event.
+     *
+     * @return The executors of the event, sorted in the order they must be dispatched.
+     */
+    private static EventExecutor[] flatten(EventRegistry registry, Class<?> clazz) {
+        final List<EventExecutor> executors = new ArrayList<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        final Queue<Class<?>> types = new ArrayDeque<>();
+        types.add(clazz);
+
+        while (!types.isEmpty()) {
+            final Class<?> type = types.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            final EventExecutor[] registered = registry.mEvents.get(type);
+            if (registered != null) {
+                executors.addAll(Arrays.asList(registered));
+            }
+            if (type.getSuperclass() != null) {
+                types.add(type.getSuperclass());
+            }
+            types.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        if (executors.isEmpty()) {
+            return EMPTY_EXECUTORS;
+        }
+        executors.sort(EXECUTOR_ORDER);
+        return executors.toArray(new EventExecutor[executors.size()]);
+    }
+
+    /**
+     * Adds the given executor into the executors of the given event.
+     * <br/>
+     * NOTE: This method must hold the lock of the registrations.
+     *
+     * @param clazz    The class of the event.
+     * @param executor The executor of the event.
+     */
+    private void register(Class<?> clazz, EventExecutor executor) {
+        final Map<Class<?>, EventExecutor[]> events = new HashMap<>(mRegistry.mEvents);
+
+        final EventExecutor[] executors = events.get(clazz);
+        if (executors == null) {
+            events.put(clazz, new EventExecutor[]{executor});
+        } else {
+            final EventExecutor[] copy = Arrays.copyOf(executors, executors.length + 1);
+            copy[executors.length] = executor;
+            events.put(clazz, copy);
+        }
+        mIds.put(executor.mId, clazz);
+        mRegistry = new EventRegistry(events, mRegistry.mVersion + 1);
+    }
+
+    /**
+     * Removes every executor that match the given predicate.
+     * <br/>
+     * NOTE: This method must hold the lock of the registrations.
+     *
+     * @param type      The class of the event, null for every event.
+     * @param predicate The predicate of the executors to remove.
+     *
+     * @return True if any executor has been removed, false otherwise.
+     */
+    private boolean unregister(Class<?> type, Predicate<EventExecutor> predicate) {
+        final Map<Class<?>, EventExecutor[]> events = new HashMap<>(mRegistry.mEvents);
+
+        boolean isRemoved = false;
+        for (final Class<?> clazz : type != null ? Collections.singleton(type) : mRegistry.mEvents.keySet()) {
+            final EventExecutor[] executors = events.get(clazz);
+            if (executors == null) {
+                continue;
+            }
+            final EventExecutor[] copy = Arrays.stream(executors).filter(predicate.negate()).toArray(EventExecutor[]::new);
+            if (copy.length == executors.length) {
+                continue;
+            }
+            for (final EventExecutor executor : executors) {
+                if (predicate.test(executor)) {
+                    mIds.remove(executor.mId);
+                }
+            }
+            if (copy.length == 0) {
+                events.remove(clazz);
+            } else {
+                events.put(clazz, copy);
+            }
+            isRemoved = true;
+        }
+        if (isRemoved) {
+            mRegistry = new EventRegistry(events, mRegistry.mVersion + 1);
+            invalidate();
+        }
+        return isRemoved;
+    }
+
+    /**
+     * Define an immutable snapshot of the registrations.
+     */
+    private final static class EventRegistry {
+        private final Map<Class<?>, EventExecutor[]> mEvents;
+        private final long mVersion;
+
+        /**
+         * Default constructor for {@link EventRegistry}.
+         */
+        private EventRegistry(Map<Class<?>, EventExecutor[]> events, long version) {
+            this.mEvents = events;
+            this.mVersion = version;
+        }
+    }
+
+    /**
+     * Define the executors of a concrete event class, computed from a snapshot of the registrations.
+     * <br/>
+     * NOTE: Only the version of the snapshot is kept, so a stale cache never retains the executors of
+     * other event classes.
+     */
+    private final static class EventCache {
+        private final long mVersion;
+        private final EventExecutor[] mExecutors;
+
+        /**
+         * Default constructor for {@link EventCache}.
+         */
+        private EventCache(long version, EventExecutor[] executors) {
+            this.mVersion = version;
+            this.mExecutors = executors;
+        }
+    }
+
+    /**
+     * Define the cache of a concrete event class.
+     */
+    private final static class EventDispatch {
+        private volatile EventCache mCache = EMPTY_CACHE;
     }
 }
@@ -0,0 +1,72 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.event.protocol;
+
+import com.github.aom.core.event.EventPool;
+import com.github.aom.core.protocol.Message;
+import com.github.aom.core.protocol.Session;
+
+/**
+ * Define an {@link EventPool} of {@link SessionMessageEvent}(s), the only way for the engine to reuse them.
+ * <br/>
+ * NOTE: The pool is shared by every session and is not thread-safe, it must be confined to the main lane
+ * where sessions are pulsed.
+ */
+public final class SessionMessagePool {
+    private final EventPool<SessionMessageEvent> mPool;
+
+    /**
+     * Default constructor for {@link SessionMessagePool}.
+     *
+     * @param capacity The maximum number of events held by the pool.
+     * @param debug    True if the pool should detect events being retained.
+     */
+    public SessionMessagePool(int capacity, boolean debug) {
+        this.mPool = new EventPool<>(() -> new SessionMessageEvent(null, null), capacity, debug);
+    }
+
+    /**
+     * Acquires an event from the pool, creating one if the pool is empty.
+     *
+     * @param session The session of the event.
+     * @param message The message of the event.
+     *
+     * @return A reference to the event.
+     */
+    public SessionMessageEvent acquire(Session session, Message message) {
+        return mPool.acquire().reset(session, message);
+    }
+
+    /**
+     * Releases an event into the pool.
+     *
+     * @param event The event to release into the pool.
+     */
+    public void release(SessionMessageEvent event) {
+        mPool.release(event);
+    }
+
+    /**
+     * Check if the pool is detecting events being retained.
+     *
+     * @return True if the pool is in debug mode, false otherwise.
+     */
+    public boolean isDebug() {
+        return mPool.isDebug();
+    }
+}
@@ -20,11 +20,14 @@ package com.github.aom.core.protocol;
 import com.github.aom.core.EngineAPI;
 import com.github.aom.core.event.EventManager;
 import com.github.aom.core.event.protocol.SessionMessageEvent;
+import com.github.aom.core.event.protocol.SessionMessagePool;
 import io.netty.channel.Channel;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
@@ -39,6 +42,7 @@ public final class SimpleSession implements Session {
     protected final Channel mChannel;
     protected final Queue<Message> mIncomingQueue;
     protected final Queue<Message> mOutgoingQueue;
+    protected final List<SessionMessageEvent> mIncomingBatch;
     protected final AtomicReference<UncaughtExceptionHandler> mUncaughtExceptionHandler;
 
     /**
@@ -52,6 +56,7 @@ public final class SimpleSession implements Session {
         this.mChannel = channel;
         this.mIncomingQueue = new ArrayDeque<>();
         this.mOutgoingQueue = new ArrayDeque<>();
+        this.mIncomingBatch = new ArrayList<>();
         this.mUncaughtExceptionHandler = new AtomicReference<>(new DefaultUncaughtExceptionHandler(this));
     }
 
@@ -136,12 +141,45 @@ public final class SimpleSession implements Session {
     }
 
     /**
-     * Pulse the connection to handle all received messages and send all.
+     * Pulse the connection to handle all received messages, dispatched as a single batch.
+     *
+     * @param pool The pool of the events to dispatch, shared by every session on the main lane, null if events
+     *             are not pooled.
      */
-    public void pulse() {
+    public void pulseInbound(SessionMessagePool pool) {
+        if (!EVENT_MANAGER.hasListeners(SessionMessageEvent.class)) {
+            mIncomingQueue.clear();
+            return;
+        }
+        if (mIncomingQueue.isEmpty()) {
+            return;
+        }
         while (!mIncomingQueue.isEmpty()) {
-            EVENT_MANAGER.invokeEvent(
-                    new SessionMessageEvent(this, mIncomingQueue.poll()));
+            final Message message = mIncomingQueue.poll();
+            mIncomingBatch.add(pool != null
+                    ? pool.acquire(this, message)
+                    : new SessionMessageEvent(this, message));
+        }
+        try {
+            EVENT_MANAGER.invokeEvents(SessionMessageEvent.class, mIncomingBatch);
+        } finally {
+            if (pool != null) {
+                for (int i = 0, size = mIncomingBatch.size(); i < size; i++) {
+                    pool.release(mIncomingBatch.get(i));
+                }
+            }
+            mIncomingBatch.clear();
+        }
+    }
+
+    /**
+     * Pulse the connection to send all messages queued during the tick.
+     * <br/>
+     * NOTE: The channel is only flushed if there was any message, once per tick.
+     */
+    public void pulseOutbound() {
+        if (mOutgoingQueue.isEmpty()) {
+            return;
         }
         while (!mOutgoingQueue.isEmpty()) {
             mChannel.write(mOutgoingQueue.poll());
@@ -19,6 +19,8 @@ package com.github.aom.core.protocol;
 
 import com.github.aom.core.event.protocol.SessionClosedEvent;
 import com.github.aom.core.event.protocol.SessionConnectedEvent;
+import com.github.aom.core.event.protocol.SessionMessageEvent;
+import com.github.aom.core.event.protocol.SessionMessagePool;
 import com.github.aom.core.protocol.pipeline.MessageInitializer;
 import com.gs.collections.api.map.MutableMap;
 import com.gs.collections.impl.map.mutable.UnifiedMap;
@@ -46,6 +48,11 @@ import static com.github.aom.core.EngineAPI.getEventManager;
  * Default implementation for {@link SessionManager}.
  */
 public final class SimpleSessionManager implements SessionManager {
+    /**
+     * Define the maximum number of {@link SessionMessageEvent}(s) held by the pool.
+     */
+    private final static int EVENT_POOL_CAPACITY = 1 << 8;
+
     private final MutableMap<UUID, SimpleSession> mRegistry;
     private final ChannelGroup mGroup;
     private final EventLoopGroup mBossGroup;
@@ -53,6 +60,12 @@ public final class SimpleSessionManager implements SessionManager {
     private final ServerBootstrap mBootstrap;
     private final AtomicReference<Session.UncaughtExceptionHandler> mUncaughtExceptionHandler;
 
+    //!
+    //! The pool of the events dispatched by every session, confined to the main lane where
+    //! {@link #pulseInbound()} runs.
+    //!
+    private volatile SessionMessagePool mEventPool;
+
     /**
      * Default constructor for {@link SimpleSessionManager}.
      */
@@ -71,10 +84,31 @@ public final class SimpleSessionManager implements SessionManager {
     }
 
     /**
-     * Pulse every {@link Session} registered into this manager.
+     * Pulse every {@link Session} registered into this manager to handle all received messages.
      */
-    public void pulse() {
-        mRegistry.values().forEach(SimpleSession::pulse);
+    public void pulseInbound() {
+        mRegistry.forEachWith(SimpleSession::pulseInbound, mEventPool);
+    }
+
+    /**
+     * Pulse every {@link Session} registered into this manager to send all queued messages.
+     */
+    public void pulseOutbound() {
+        mRegistry.values().forEach(SimpleSession::pulseOutbound);
+    }
+
+    /**
+     * Changes whether {@link SessionMessageEvent}(s) are reused between messages.
+     * <br/>
+     * NOTE: Consumers must not retain pooled events, the debug mode detects any consumer doing so.
+     *
+     * @param enabled True if the events should be pooled.
+     * @param debug   True if the pool should detect events being retained.
+     */
+    public void setEventPooling(boolean enabled, boolean debug) {
+        mEventPool = (enabled
+                ? new SessionMessagePool(EVENT_POOL_CAPACITY, debug)
+                : null);
     }
 
     /**
@@ -83,7 +117,11 @@ public final class SimpleSessionManager implements SessionManager {
      * @param session The session to add to the pool.
      */
     public void add(SimpleSession session) {
-        getEventManager().invokeAsyncEvent(new SessionConnectedEvent(session), this::onEvent);
+        if (getEventManager().hasListeners(SessionConnectedEvent.class)) {
+            getEventManager().invokeAsyncEvent(new SessionConnectedEvent(session), this::onEvent);
+        } else {
+            register(session);
+        }
     }
 
     /**
@@ -94,7 +132,9 @@ public final class SimpleSessionManager implements SessionManager {
     public void remove(SimpleSession session) {
         mRegistry.remove(session.getUUID());
         mGroup.remove(session.mChannel);
-        getEventManager().invokeAsyncEvent(new SessionClosedEvent(session));
+        if (getEventManager().hasListeners(SessionClosedEvent.class)) {
+            getEventManager().invokeAsyncEvent(new SessionClosedEvent(session));
+        }
     }
 
     /**
@@ -205,8 +245,17 @@ public final class SimpleSessionManager implements SessionManager {
         if (event.isCancelled()) {
             session.disconnect("<Cancelled>");
         } else {
-            mGroup.add(session.mChannel);
-            mRegistry.put(session.getUUID(), session);
+            register(session);
         }
     }
+
+    /**
+     * Registers the given {@link Session} into the pool.
+     *
+     * @param session The session to register into the pool.
+     */
+    private void register(SimpleSession session) {
+        mGroup.add(session.mChannel);
+        mRegistry.put(session.getUUID(), session);
+    }
 }
@@ -0,0 +1,107 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+/**
+ * Define how many asynchronous tasks of the same owner may run at the same time.
+ * <br/>
+ * Tasks that exceed the limit of their owner are handled according to the {@link Policy}, so a
+ * burst of a single owner cannot occupy every thread of the {@link AsyncPool}.
+ */
+public final class AsyncBulkhead {
+    /**
+     * Define the bulkhead that does not limit its owner.
+     */
+    public final static AsyncBulkhead UNLIMITED = new AsyncBulkhead(0, 0, Policy.QUEUE);
+
+    /**
+     * Enumerate all policies for tasks that exceed the limit of their owner.
+     */
+    public enum Policy {
+        /**
+         * Hold the task until a task of the same owner completes, reject it if the queue is full.
+         */
+        QUEUE,
+
+        /**
+         * Cancel the task, repeating tasks skip their run instead.
+         */
+        REJECT,
+
+        /**
+         * Delay the task by {@link TaskPriority#getDeferredTime()}.
+         */
+        DEFER
+    }
+
+    private final int mLimit;
+    private final int mCapacity;
+    private final Policy mPolicy;
+
+    /**
+     * Default constructor for {@link AsyncBulkhead}.
+     *
+     * @param limit    The maximum number of tasks running at the same time, 0 for unlimited.
+     * @param capacity The maximum number of tasks held by {@link Policy#QUEUE}.
+     * @param policy   The policy for tasks that exceed the limit.
+     */
+    public AsyncBulkhead(int limit, int capacity, Policy policy) {
+        if (limit < 0 || capacity < 0) {
+            throw new IllegalArgumentException("Limit and capacity cannot be negative.");
+        }
+        this.mLimit = limit;
+        this.mCapacity = capacity;
+        this.mPolicy = policy;
+    }
+
+    /**
+     * Retrieves the maximum number of tasks running at the same time.
+     *
+     * @return The limit of the bulkhead, 0 if unlimited.
+     */
+    public int getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * Retrieves the maximum number of tasks held by {@link Policy#QUEUE}.
+     *
+     * @return The capacity of the queue of the bulkhead.
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Retrieves the policy for tasks that exceed the limit.
+     *
+     * @return The policy of the bulkhead.
+     */
+    public Policy getPolicy() {
+        return mPolicy;
+    }
+
+    /**
+     * Check if the bulkhead limits its owner.
+     *
+     * @return True if the bulkhead has a limit, false otherwise.
+     */
+    public boolean isLimited() {
+        return mLimit > 0;
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Define the pool that executes every asynchronous {@link SimpleTask}.
+ * <br/>
+ * The pool keeps track of how many tasks are submitted, running and completed, so its saturation
+ * can be observed regardless of the {@link Mode} it runs in.
+ */
+public final class AsyncPool implements Executor {
+    /**
+     * Enumerate all modes of the pool.
+     */
+    public enum Mode {
+        /**
+         * Execute tasks on a work-stealing pool with one thread per core, best for CPU-bound tasks.
+         */
+        WORK_STEALING,
+
+        /**
+         * Execute tasks on a pool that creates threads on demand, best for blocking tasks.
+         */
+        CACHED,
+
+        /**
+         * Execute each task on its own virtual thread, falls back to {@link #CACHED} when unsupported.
+         */
+        VIRTUAL
+    }
+
+    private final AtomicLong mSubmittedCount = new AtomicLong();
+    private final AtomicLong mCompletedCount = new AtomicLong();
+    private final AtomicInteger mActiveCount = new AtomicInteger();
+    private final AtomicInteger mPeakActiveCount = new AtomicInteger();
+    private final AtomicInteger mThreadCount = new AtomicInteger();
+    private volatile ExecutorService mExecutor;
+    private volatile Mode mMode;
+
+    /**
+     * Default constructor for {@link AsyncPool}.
+     *
+     * @param mode The mode of the pool.
+     */
+    public AsyncPool(Mode mode) {
+        setMode(mode);
+    }
+
+    /**
+     * Changes the mode of the pool.
+     * <br/>
+     * NOTE: Tasks already submitted complete on the previous executor.
+     *
+     * @param mode The mode of the pool.
+     *
+     * @return The mode the pool is running in, which differs from the given mode if unsupported.
+     */
+    public Mode setMode(Mode mode) {
+        ExecutorService executor = null;
+        if (mode == Mode.VIRTUAL) {
+            executor = newVirtualExecutor();
+            if (executor == null) {
+                mode = Mode.CACHED;
+            }
+        }
+        if (mode == Mode.CACHED) {
+            executor = Executors.newCachedThreadPool((T) -> {
+                final Thread thread = new Thread(T, "AoM-Async-" + mThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else if (mode == Mode.WORK_STEALING) {
+            executor = Executors.newWorkStealingPool();
+        }
+        final ExecutorService previous = mExecutor;
+        mExecutor = executor;
+        mMode = mode;
+        if (previous != null) {
+            previous.shutdown();
+        }
+        return mode;
+    }
+
+    /**
+     * Retrieves the mode of the pool.
+     *
+     * @return The mode the pool is running in.
+     */
+    public Mode getMode() {
+        return mMode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Runnable command) {
+        executeTracked(track(command));
+    }
+
+    /**
+     * Executes a command that has been wrapped by {@link #track(Runnable)}.
+     * <br/>
+     * NOTE: Commands executed many times (e.g repeating tasks) are wrapped once, so they are executed
+     * without allocating a wrapper on every submission.
+     *
+     * @param command The wrapped command to be executed.
+     */
+    public void executeTracked(Runnable command) {
+        mSubmittedCount.incrementAndGet();
+        mExecutor.execute(command);
+    }
+
+    /**
+     * Wraps the given command, so its executions are counted by the pool.
+     *
+     * @param command The command to be wrapped.
+     *
+     * @return The wrapped command, to be executed by {@link #executeTracked(Runnable)}.
+     */
+    public Runnable track(Runnable command) {
+        return () -> {
+            final int active = mActiveCount.incrementAndGet();
+            int peak;
+            while (active > (peak = mPeakActiveCount.get()) && !mPeakActiveCount.compareAndSet(peak, active)) {
+                // Retry until the peak is updated.
+            }
+            try {
+                command.run();
+            } finally {
+                mActiveCount.decrementAndGet();
+                mCompletedCount.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Retrieves how many tasks have been submitted to the pool.
+     *
+     * @return The number of submitted tasks.
+     */
+    public long getSubmittedCount() {
+        return mSubmittedCount.get();
+    }
+
+    /**
+     * Retrieves how many tasks have been completed by the pool.
+     *
+     * @return The number of completed tasks.
+     */
+    public long getCompletedCount() {
+        return mCompletedCount.get();
+    }
+
+    /**
+     * Retrieves how many tasks are being executed by the pool.
+     *
+     * @return The number of running tasks.
+     */
+    public int getActiveCount() {
+        return mActiveCount.get();
+    }
+
+    /**
+     * Retrieves the highest number of tasks that have been executed at the same time.
+     *
+     * @return The peak number of running tasks.
+     */
+    public int getPeakActiveCount() {
+        return mPeakActiveCount.get();
+    }
+
+    /**
+     * Retrieves how many tasks are waiting for a thread of the pool.
+     * <br/>
+     * NOTE: A pool that has waiting tasks while running at its peak is saturated.
+     *
+     * @return The number of waiting tasks.
+     */
+    public long getQueuedCount() {
+        return Math.max(0L, mSubmittedCount.get() - mCompletedCount.get() - mActiveCount.get());
+    }
+
+    /**
+     * Creates an executor that runs each task on its own virtual thread.
+     * <br/>
+     * NOTE: Virtual threads are looked up by reflection, since the engine targets runtimes without them.
+     *
+     * @return The executor or null if the runtime does not support virtual threads.
+     */
+    private static ExecutorService newVirtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            return null;
+        }
+    }
+}
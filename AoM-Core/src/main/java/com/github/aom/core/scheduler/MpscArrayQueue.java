@@ -0,0 +1,245 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Define a lock-free, array-backed, multiple-producer single-consumer queue.
+ * <br/>
+ * Any thread may offer elements, but only one thread at a time may poll or drain them.
+ * When an unbounded queue is full the elements spill into an overflow queue, which is the
+ * only path that allocates. Once spilled every element goes to the overflow queue until it
+ * has been drained, so elements keep the order they have been added.
+ */
+public final class MpscArrayQueue<E> {
+    private final AtomicReferenceArray<E> mBuffer;
+    private final Queue<E> mOverflow;
+    private final int mCapacity;
+    private final int mMask;
+    private final Sequence mProducerIndex = new Sequence();
+    private final Sequence mProducerLimit = new Sequence();
+    private final Sequence mConsumerIndex = new Sequence();
+    private volatile boolean mOverflowing;
+
+    /**
+     * Default constructor for {@link MpscArrayQueue}.
+     *
+     * @param capacity The capacity of the queue, rounded up to the next power of two.
+     * @param bounded  True if the queue rejects elements when full, false if they overflow.
+     */
+    public MpscArrayQueue(int capacity, boolean bounded) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.mCapacity = size;
+        this.mMask = mCapacity - 1;
+        this.mBuffer = new AtomicReferenceArray<>(mCapacity);
+        this.mOverflow = bounded ? null : new ConcurrentLinkedQueue<>();
+        this.mProducerLimit.set(mCapacity);
+    }
+
+    /**
+     * Adds an element into the queue.
+     * <br/>
+     * NOTE: This method is thread-safe.
+     *
+     * @param element The element to add into the queue.
+     *
+     * @return True if the element has been added, false if the queue is bounded and full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null.");
+        }
+        if (mOverflowing) {
+            return offerOverflow(element);
+        }
+        return offerBuffer(element) || (mOverflow != null && offerOverflow(element));
+    }
+
+    /**
+     * Adds an element into the array of the queue.
+     *
+     * @param element The element to add into the queue.
+     *
+     * @return True if the element has been added, false if the array is full.
+     */
+    private boolean offerBuffer(E element) {
+        long limit = mProducerLimit.get();
+        long index;
+        do {
+            index = mProducerIndex.get();
+            if (index >= limit) {
+                limit = mConsumerIndex.get() + mCapacity;
+                if (index >= limit) {
+                    return false;
+                }
+                mProducerLimit.lazySet(limit);
+            }
+        } while (!mProducerIndex.compareAndSet(index, index + 1));
+
+        mBuffer.lazySet((int) index & mMask, element);
+        return true;
+    }
+
+    /**
+     * Adds an element into the overflow queue.
+     * <br/>
+     * NOTE: The overflow may have been drained since the caller saw it, then the array is used again.
+     *
+     * @param element The element to add into the queue.
+     *
+     * @return True if the element has been added.
+     */
+    private boolean offerOverflow(E element) {
+        synchronized (mOverflow) {
+            if (!mOverflowing && offerBuffer(element)) {
+                return true;
+            }
+            mOverflowing = true;
+            return mOverflow.offer(element);
+        }
+    }
+
+    /**
+     * Removes the next element of the queue.
+     * <br/>
+     * NOTE: This method must run on the consumer thread.
+     *
+     * @return The next element of the queue or null if the queue is empty.
+     */
+    public E poll() {
+        final E element = pollBuffer();
+        if (element != null || !mOverflowing) {
+            return element;
+        }
+        final E overflow = mOverflow.poll();
+        if (overflow == null) {
+            // Every element has been drained, producers can use the array again.
+            synchronized (mOverflow) {
+                if (mOverflow.isEmpty() && mConsumerIndex.get() == mProducerIndex.get()) {
+                    mOverflowing = false;
+                }
+            }
+        }
+        return overflow;
+    }
+
+    /**
+     * Removes the next element of the array of the queue.
+     *
+     * @return The next element of the array or null if the array is empty.
+     */
+    private E pollBuffer() {
+        final long index = mConsumerIndex.get();
+        final int offset = (int) index & mMask;
+
+        E element = mBuffer.get(offset);
+        if (element == null) {
+            if (index == mProducerIndex.get()) {
+                return null;
+            }
+            // A producer has claimed the slot but not yet published the element.
+            do {
+                element = mBuffer.get(offset);
+            } while (element == null);
+        }
+        mBuffer.lazySet(offset, null);
+        mConsumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    /**
+     * Removes up to the given number of elements from the queue.
+     * <br/>
+     * NOTE: This method must run on the consumer thread.
+     *
+     * @param consumer The consumer of every element removed.
+     * @param limit    The maximum number of elements to remove.
+     *
+     * @return The number of elements removed.
+     */
+    public int drain(Consumer<E> consumer, int limit) {
+        int count = 0;
+        for (E element; count < limit && (element = poll()) != null; count++) {
+            consumer.accept(element);
+        }
+        return count;
+    }
+
+    /**
+     * Removes all elements from the queue.
+     * <br/>
+     * NOTE: This method must run on the consumer thread.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Discard every element.
+        }
+    }
+
+    /**
+     * Check if the queue is empty.
+     *
+     * @return True if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return mConsumerIndex.get() == mProducerIndex.get() && (mOverflow == null || mOverflow.isEmpty());
+    }
+
+    /**
+     * Retrieves an estimation of how many elements are in the queue.
+     *
+     * @return The number of elements in the queue.
+     */
+    public int size() {
+        final long size = mProducerIndex.get() - mConsumerIndex.get();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, size) + (mOverflow == null ? 0 : mOverflow.size()));
+    }
+
+    /**
+     * Retrieves the capacity of the array of the queue.
+     *
+     * @return The capacity of the queue.
+     */
+    public int capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Define a sequence padded to its own cache line, to prevent false sharing between
+     * the producers and the consumer.
+     */
+    protected final static class Sequence extends AtomicLong {
+        /**
+         * Define the version of the serialised form of the sequence.
+         */
+        private final static long serialVersionUID = 1L;
+
+        protected long mPad1, mPad2, mPad3, mPad4, mPad5, mPad6, mPad7;
+    }
+}
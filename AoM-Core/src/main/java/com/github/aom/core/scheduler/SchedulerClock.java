@@ -0,0 +1,45 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Encapsulate the clock that paces the ticks of {@link SimpleScheduler}.
+ */
+public interface SchedulerClock {
+    /**
+     * Define the clock that follows the real time.
+     */
+    public final static SchedulerClock SYSTEM = new SystemClock();
+
+    /**
+     * Retrieves the time of the clock.
+     *
+     * @return The time (in nanoseconds) of the clock.
+     */
+    public long nanoTime();
+
+    /**
+     * Waits until the clock reaches the given deadline.
+     *
+     * @param deadline  The deadline (in {@link #nanoTime()}) to wait for.
+     * @param condition The condition that must hold to keep waiting.
+     */
+    public void parkUntil(long deadline, BooleanSupplier condition);
+}
@@ -0,0 +1,207 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import com.github.aom.core.EngineAPI;
+import com.github.aom.core.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Define a watchdog that reports when a tick of {@link SimpleScheduler} takes too long.
+ * <br/>
+ * The watchdog runs on its own thread and samples the stack of the scheduler's thread together
+ * with the {@link SimpleTask} being executed, counting how many stalls each owner caused.
+ */
+public final class SchedulerWatchdog implements Runnable {
+    /**
+     * Define the key used for tasks without owner, since the counters cannot hold null keys.
+     */
+    private final static Object ENGINE_OWNER = new Object();
+
+    /**
+     * Define the minimum time (in milliseconds) the watchdog sleeps between checks.
+     */
+    private final static long MINIMUM_CHECK_INTERVAL = 10L;
+
+    private final SimpleScheduler mScheduler;
+    private final Map<Object, AtomicLong> mStalls = new ConcurrentHashMap<>();
+    private final AtomicLong mStallCount = new AtomicLong();
+    private volatile long mThreshold;
+    private volatile long mReportInterval;
+    private long mLastReport;
+
+    /**
+     * Default constructor for {@link SchedulerWatchdog}.
+     *
+     * @param scheduler The scheduler to watch.
+     */
+    public SchedulerWatchdog(SimpleScheduler scheduler) {
+        this.mScheduler = scheduler;
+    }
+
+    /**
+     * Changes the threshold and the report interval of the watchdog.
+     *
+     * @param threshold      The time (in milliseconds) a tick may take before being reported, 0 to disable.
+     * @param reportInterval The minimum time (in milliseconds) between two reports.
+     */
+    public void setThreshold(long threshold, long reportInterval) {
+        this.mThreshold = TimeUnit.MILLISECONDS.toNanos(threshold);
+        this.mReportInterval = TimeUnit.MILLISECONDS.toNanos(reportInterval);
+    }
+
+    /**
+     * Retrieves the threshold of the watchdog.
+     *
+     * @return The time (in milliseconds) a tick may take before being reported.
+     */
+    public long getThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(mThreshold);
+    }
+
+    /**
+     * Retrieves the report interval of the watchdog.
+     *
+     * @return The minimum time (in milliseconds) between two reports.
+     */
+    public long getReportInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(mReportInterval);
+    }
+
+    /**
+     * Check if the watchdog is enabled.
+     *
+     * @return True if the watchdog has a threshold, false otherwise.
+     */
+    public boolean isEnabled() {
+        return mThreshold > 0;
+    }
+
+    /**
+     * Retrieves how many stalled ticks have been detected.
+     *
+     * @return The number of stalled ticks.
+     */
+    public long getStallCount() {
+        return mStallCount.get();
+    }
+
+    /**
+     * Retrieves how many stalled ticks have been caused by the given owner.
+     *
+     * @param owner The owner of the tasks.
+     *
+     * @return The number of stalled ticks caused by the owner.
+     */
+    public long getStallCount(Object owner) {
+        final AtomicLong count = mStalls.get(owner == null ? ENGINE_OWNER : owner);
+        return count != null ? count.get() : 0L;
+    }
+
+    /**
+     * Retrieves how many stalled ticks have been caused by each owner.
+     *
+     * @return A snapshot that maps each owner to its number of stalled ticks.
+     */
+    public Map<Object, Long> getStallCountByOwner() {
+        final Map<Object, Long> counts = new HashMap<>(mStalls.size());
+        mStalls.forEach((owner, count) -> counts.put(owner == ENGINE_OWNER ? null : owner, count.get()));
+        return counts;
+    }
+
+    /**
+     * Removes the stall counter of the given owner, so an unloaded owner is not retained by the watchdog.
+     *
+     * @param owner The owner of the tasks.
+     */
+    public void reset(Object owner) {
+        mStalls.remove(owner == null ? ENGINE_OWNER : owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        long lastTick = mScheduler.mTickCount;
+        long lastProgress = System.nanoTime();
+        boolean isReported = false;
+
+        while (mScheduler.isActive() && isEnabled()) {
+            try {
+                Thread.sleep(Math.max(MINIMUM_CHECK_INTERVAL, TimeUnit.NANOSECONDS.toMillis(mThreshold) / 4));
+            } catch (InterruptedException exception) {
+                break;
+            }
+
+            final long tick = mScheduler.mTickCount;
+            final long now = System.nanoTime();
+            if (tick != lastTick) {
+                lastTick = tick;
+                lastProgress = now;
+                isReported = false;
+            } else if (!isReported && now - lastProgress > mThreshold) {
+                isReported = true;
+                report(tick, now - lastProgress);
+            }
+        }
+    }
+
+    /**
+     * Reports a stalled tick.
+     *
+     * @param tick     The tick that is stalled.
+     * @param duration The time (in nanoseconds) the tick has been stalled.
+     */
+    private void report(long tick, long duration) {
+        final Thread thread = mScheduler.mThread;
+        final SimpleTask task = mScheduler.mCurrentTask.get();
+        if (thread == null) {
+            return;
+        }
+        final Object owner = (task != null ? task.getOwner() : null);
+
+        mStallCount.incrementAndGet();
+        mStalls.computeIfAbsent(owner == null ? ENGINE_OWNER : owner, key -> new AtomicLong()).incrementAndGet();
+
+        // Rate limit the reports, the counters are updated regardless.
+        final long now = System.nanoTime();
+        if (mLastReport != 0 && now - mLastReport < mReportInterval) {
+            return;
+        }
+        mLastReport = now;
+
+        final StringBuilder builder = new StringBuilder()
+                .append("Tick ").append(tick).append(" has been stalled for ")
+                .append(TimeUnit.NANOSECONDS.toMillis(duration)).append("ms");
+        if (task != null) {
+            builder.append(" by a ").append(task.getPriority()).append(" task of ")
+                    .append(owner instanceof Plugin ? ((Plugin) owner).getName() : owner == null ? "<Engine>" : owner)
+                    .append(" (").append(getStallCount(owner)).append(" stalls)");
+        }
+        for (final StackTraceElement element : thread.getStackTrace()) {
+            builder.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        EngineAPI.getEngine().getLogger().warn(builder.toString());
+    }
+}
@@ -18,95 +18,299 @@
 package com.github.aom.core.scheduler;
 
 import java.util.ArrayDeque;
-import java.util.PriorityQueue;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 /**
  * Default implementation of {@link Scheduler}.
  */
 public final class SimpleScheduler implements Scheduler {
     /**
-     * Define how many milliseconds are in a second.
+     * Define how many nanoseconds are in a second.
      */
-    protected final static long SECOND_AS_MILLISECOND = 1000L;
+    protected final static long SECOND_AS_NANOSECOND = 1000000000L;
 
-    protected final Executor mExecutor = Executors.newWorkStealingPool();
-    protected final Queue<SimpleTask> mQueue = new PriorityQueue<>();
-    protected final Queue<SimpleTask> mDirtyQueue = new ArrayDeque<>();
+    /**
+     * Define the smoothing (as a power of two) of the average work time of a tick.
+     */
+    protected final static int LOAD_SMOOTHING = 3;
+
+    /**
+     * Define the capacity of the array of the submission queue.
+     */
+    protected final static int SUBMISSION_CAPACITY = 1 << 16;
+
+    /**
+     * Define the initial capacity of the arrays of commands executed on the next tick.
+     */
+    protected final static int COMMAND_CAPACITY = 1 << 8;
+
+    protected final AsyncPool mExecutor;
+    protected final TimingWheel mWheel = new TimingWheel(0L);
+    protected final MpscArrayQueue<SimpleTask> mDirtyQueue = new MpscArrayQueue<>(SUBMISSION_CAPACITY, false);
+    protected final Queue<SimpleTask>[] mSyncQueues = newPhaseQueues();
+    protected final Consumer<SimpleTask> mDispatcher = this::dispatch;
+    protected final Consumer<SimpleTask> mRegister = this::register;
+    protected final MpscArrayQueue<SimpleTask> mCancelQueue = new MpscArrayQueue<>(SUBMISSION_CAPACITY, false);
+    protected final Consumer<SimpleTask> mEvict = this::evict;
+    protected final MpscArrayQueue<Runnable> mCancelAllQueue = new MpscArrayQueue<>(SUBMISSION_CAPACITY, false);
+    protected final Consumer<Runnable> mCancelAll = Runnable::run;
+    protected final MpscArrayQueue<Runnable> mCommandQueue = new MpscArrayQueue<>(SUBMISSION_CAPACITY, false);
+    protected final Consumer<Runnable> mCommandRegister = this::addCommand;
+    protected Runnable[] mCommands = new Runnable[COMMAND_CAPACITY];
+    protected Runnable[] mCommandsBack = new Runnable[COMMAND_CAPACITY];
+    protected int mCommandCount, mReadyCount;
+    protected final Map<Object, TaskGroup> mGroups = new IdentityHashMap<>();
     protected final AtomicBoolean mActive = new AtomicBoolean(false);
     protected final AtomicBoolean mOverloaded = new AtomicBoolean(false);
-    protected final long mStartTime = System.currentTimeMillis();
     protected final long mDesiredTicks;
-    protected long mLoopTickTime, mLoopFrameTime;
+    protected final long mTickBudget;
+    protected long mTickLoad;
+    protected volatile long mTickWorkTime, mTickIdleTime;
+    protected volatile long mDeferredCount, mShedCount, mRejectedCount;
+    protected volatile int mTaskCount;
+    protected final Map<Object, AsyncBulkhead> mBulkheads;
+    protected final Map<Object, AtomicInteger> mPermits;
+    protected final Queue<TaskGroup> mWaiting = new ArrayDeque<>();
+    protected final TaskProfiler mProfiler;
+    protected volatile AsyncBulkhead mBulkhead = AsyncBulkhead.UNLIMITED;
+
+    //!
+    //! The thread that owns the structures of the lane, from the moment it starts executing ticks until
+    //! the lane has been cleaned up. Every other thread hands its changes over through the queues.
+    //!
+    protected volatile Thread mThread;
+    protected volatile long mTickCount;
+    protected volatile long mTickStart;
+    protected final AtomicReference<SimpleTask> mCurrentTask = new AtomicReference<>();
+    protected final SchedulerWatchdog mWatchdog = new SchedulerWatchdog(this);
+    protected final SimpleScheduler mParent;
+    protected volatile SimpleScheduler[] mLanes = {this};
+    protected volatile SchedulerClock mClock = SchedulerClock.SYSTEM;
+    protected final BooleanSupplier mCondition = this::isActive;
 
     /**
      * Default constructor for {@link SimpleScheduler}.
      */
     public SimpleScheduler(long desiredTicks) {
+        this(desiredTicks, null);
+    }
+
+    /**
+     * Constructor for a lane of {@link SimpleScheduler}.
+     *
+     * @param desiredTicks The number of ticks per second.
+     * @param parent       The scheduler that owns the lane, null if the scheduler is not a lane.
+     */
+    private SimpleScheduler(long desiredTicks, SimpleScheduler parent) {
         this.mDesiredTicks = desiredTicks;
+        this.mTickBudget = SECOND_AS_NANOSECOND / desiredTicks;
+        this.mParent = parent;
+        this.mExecutor = (parent != null ? parent.mExecutor : new AsyncPool(AsyncPool.Mode.WORK_STEALING));
+        this.mBulkheads = (parent != null ? parent.mBulkheads : new ConcurrentHashMap<>());
+        this.mPermits = (parent != null ? parent.mPermits : new ConcurrentHashMap<>());
+        this.mProfiler = (parent != null ? parent.mProfiler : new TaskProfiler());
+    }
+
+    /**
+     * Changes how many synchronous lanes the scheduler has.
+     * <br/>
+     * NOTE: This method must be called before the scheduler has been started.
+     *
+     * @param count The number of lanes, including the main lane.
+     */
+    public void setLaneCount(int count) {
+        if (mParent != null || mActive.get()) {
+            throw new IllegalStateException("Lanes cannot be changed on a lane or an active scheduler.");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("Scheduler requires at least one lane.");
+        }
+        final SimpleScheduler[] lanes = new SimpleScheduler[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = (i < mLanes.length ? mLanes[i] : new SimpleScheduler(mDesiredTicks, this));
+        }
+        mLanes = lanes;
+    }
+
+    /**
+     * Changes the {@link SchedulerClock} that paces the ticks of the scheduler and its lanes.
+     * <br/>
+     * NOTE: This method must be called before the scheduler has been started.
+     *
+     * @param clock The clock of the scheduler.
+     */
+    public void setClock(SchedulerClock clock) {
+        if (mParent != null || mActive.get()) {
+            throw new IllegalStateException("Clock cannot be changed on a lane or an active scheduler.");
+        }
+        mClock = clock;
+    }
+
+    /**
+     * Retrieves the {@link SchedulerClock} that paces the ticks of the scheduler.
+     *
+     * @return A reference to the clock of the scheduler.
+     */
+    public SchedulerClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * Executes the given number of ticks on the caller's thread, without starting the lanes.
+     * <br/>
+     * NOTE: With a {@link VirtualClock} the ticks are executed as fast as possible, synchronised tasks
+     * are executed deterministically as long as they are not invoked from other threads.
+     *
+     * @param ticks The number of ticks to execute.
+     */
+    public void runTicks(long ticks) {
+        if (mParent != null) {
+            throw new IllegalStateException("Lane is started by its scheduler.");
+        }
+        if (!mActive.compareAndSet(false, true)) {
+            throw new IllegalStateException("Scheduler has been already started.");
+        }
+        mThread = Thread.currentThread();
+        try {
+            execute(ticks);
+        } finally {
+            mThread = null;
+            mActive.set(false);
+        }
     }
 
     /**
      * Starts the execution of the scheduler.
+     * <br/>
+     * NOTE: The main lane runs on the caller's thread, every other lane on its own thread.
      */
     public void start() {
-        if (mActive.get()) {
+        if (mParent != null) {
+            throw new IllegalStateException("Lane is started by its scheduler.");
+        }
+        if (!mActive.compareAndSet(false, true)) {
             throw new IllegalStateException("Scheduler has been already started.");
         }
-        mActive.set(true);
+        final SimpleScheduler[] lanes = mLanes;
+        for (int i = 1; i < lanes.length; i++) {
+            final SimpleScheduler lane = lanes[i];
+            lane.mWatchdog.setThreshold(mWatchdog.getThreshold(), mWatchdog.getReportInterval());
+            lane.mClock = mClock;
+            lane.mActive.set(true);
+            new Thread(lane::run, "AoM-Lane-" + i).start();
+        }
+        run();
+    }
 
-        final Queue<SimpleTask> defQueue = new ArrayDeque<>();
-        mLoopFrameTime = System.currentTimeMillis();
-        do {
-            // Add all task that has been added into the executor with
-            while (!mDirtyQueue.isEmpty()) {
-                final SimpleTask task = mDirtyQueue.poll();
-                if (task != null) {
-                    mQueue.add(task);
-                }
-            }
+    /**
+     * Executes the ticks of the scheduler on the caller's thread until it has been stopped.
+     */
+    private void run() {
+        mThread = Thread.currentThread();
+
+        if (mWatchdog.isEnabled()) {
+            final Thread watchdog = new Thread(mWatchdog,
+                    mParent != null ? mThread.getName() + "-Watchdog" : "AoM-Watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+
+        execute(-1L);
+
+        // Tasks submitted since the last tick are registered, so every task is cancelled below.
+        mDirtyQueue.drain(mRegister, Integer.MAX_VALUE);
+
+        // Remove all references to the old task to ensure GC collect them when
+        // the executor has been stopped.
+        mWheel.clear();
+        mCancelQueue.clear();
+        mCommandQueue.clear();
+        Arrays.fill(mCommands, 0, mCommandCount, null);
+        Arrays.fill(mCommandsBack, 0, mReadyCount, null);
+        mCommandCount = mReadyCount = 0;
+        mWaiting.clear();
+        for (final Queue<SimpleTask> queue : mSyncQueues) {
+            queue.clear();
+        }
+        mGroups.values().forEach(this::cancelGroup);
+        mGroups.clear();
+        mCancelAllQueue.clear();
+
+        // Only now other threads stop touching the structures directly, anything they submit from now on is
+        // queued until the scheduler is started again.
+        mThread = null;
+    }
+
+    /**
+     * Executes the given number of ticks, or until the scheduler has been stopped.
+     *
+     * @param ticks The number of ticks to execute, negative to execute until the scheduler has been stopped.
+     */
+    private void execute(long ticks) {
+        final SchedulerClock clock = mClock;
+
+        long deadline = clock.nanoTime();
+        for (long tick = 0; tick != ticks && mActive.get(); tick++) {
+            final long tickStart = clock.nanoTime();
+            mTickStart = tickStart;
+            mTickCount++;
+
+            // Add all task that has been added into the executor since the last tick, the
+            // batch is bounded so producers cannot starve the tick.
+            mDirtyQueue.drain(mRegister, SUBMISSION_CAPACITY);
+
+            // Remove all tasks that has been cancelled from another thread since the last tick.
+            mCancelQueue.drain(mEvict, SUBMISSION_CAPACITY);
+            mCancelAllQueue.drain(mCancelAll, SUBMISSION_CAPACITY);
+
+            // Dispatch the tasks waiting for a permit that has been released by another lane.
+            dispatchWaiting();
+
+            // Add all commands that has been added from another thread since the last tick, commands
+            // added from now on are executed on the next tick.
+            mCommandQueue.drain(mCommandRegister, SUBMISSION_CAPACITY);
+            prepareCommands();
 
             // Deferred all tasks that needs to be executed in asynchronous channel
             // or the synchronous channel.
-            while (!mQueue.isEmpty()) {
-                final SimpleTask task = mQueue.peek();
-                if (task.getTime() > System.currentTimeMillis() - mStartTime) {
-                    break;
+            mWheel.advance(mTickCount, mDispatcher);
+
+            // Run all tasks deferred to the synchronous channel, phase by phase.
+            for (int phase = 0; phase < mSyncQueues.length; phase++) {
+                if (phase == TaskPhase.SIMULATION.ordinal()) {
+                    executeCommands();
                 }
-                if (task.isAlive()) {
-                    if (task.isAsynchronous()) {
-                        mExecutor.execute(() -> executeTaskIfNotDestroyOrRepeat(task));
-                    } else {
-                        defQueue.add(task);
-                    }
+                final Queue<SimpleTask> queue = mSyncQueues[phase];
+                while (!queue.isEmpty()) {
+                    executeTaskIfNotDestroyOrRepeat(queue.poll());
                 }
-                mQueue.poll();
             }
 
-            // Run all tasks deferred to the synchronous channel.
-            while (!defQueue.isEmpty()) {
-                executeTaskIfNotDestroyOrRepeat(defQueue.poll());
-            }
+            // The scheduler is overloaded while the average work of a tick exceeds its budget.
+            final long tickEnd = clock.nanoTime();
+            mTickWorkTime = tickEnd - tickStart;
+            mTickLoad += (mTickWorkTime - mTickLoad) >> LOAD_SMOOTHING;
+            mOverloaded.set(mTickLoad > mTickBudget);
 
-            final long current = System.currentTimeMillis();
-            if (current - mLoopFrameTime >= SECOND_AS_MILLISECOND) {
-                mLoopFrameTime = current;
-                mLoopTickTime = 0;
-                mOverloaded.set(mLoopTickTime < mDesiredTicks);
-            } else {
-                mLoopTickTime++;
+            // Park until the next tick boundary, if the scheduler fell behind for more
+            // than a whole tick then the missed ticks are dropped instead of bursting.
+            deadline += mTickBudget;
+            if (tickEnd - deadline > mTickBudget) {
+                deadline = tickEnd;
             }
-        } while (mActive.get());
-
-        // Remove all references to the old task to ensure GC collect them when
-        // the executor has been stopped.
-        mQueue.clear();
-        mDirtyQueue.clear();
+            clock.parkUntil(deadline, mCondition);
+            mTickIdleTime = clock.nanoTime() - tickEnd;
+        }
     }
 
     /**
@@ -116,16 +320,153 @@ public final class SimpleScheduler implements Scheduler {
         if (!mActive.getAndSet(false)) {
             throw new IllegalStateException("Executor has not been started.");
         }
+        final Thread thread = mThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        final SimpleScheduler[] lanes = mLanes;
+        for (int i = 1; i < lanes.length; i++) {
+            lanes[i].stop();
+        }
+    }
+
+    /**
+     * Retrieves how many tasks have been deferred because the scheduler was overloaded.
+     *
+     * @return The number of deferred tasks.
+     */
+    public long getDeferredCount() {
+        return mDeferredCount;
+    }
+
+    /**
+     * Retrieves how many runs of repeating tasks have been skipped because the scheduler was overloaded.
+     *
+     * @return The number of skipped runs.
+     */
+    public long getShedCount() {
+        return mShedCount;
+    }
+
+    /**
+     * Retrieves how many asynchronous tasks have been rejected by the bulkhead of their owner.
+     *
+     * @return The number of rejected tasks.
+     */
+    public long getRejectedCount() {
+        return mRejectedCount;
+    }
+
+    /**
+     * Changes the {@link AsyncBulkhead} of every owner that has no bulkhead of its own.
+     * <br/>
+     * NOTE: Tasks without owner are never limited.
+     *
+     * @param bulkhead The bulkhead of the owners.
+     */
+    public void setBulkhead(AsyncBulkhead bulkhead) {
+        (mParent != null ? mParent : this).mBulkhead = bulkhead;
+    }
+
+    /**
+     * Changes the {@link AsyncBulkhead} of the given owner.
+     *
+     * @param owner    The owner of the tasks.
+     * @param bulkhead The bulkhead of the owner, null to use the bulkhead of every owner.
+     */
+    public void setBulkhead(Object owner, AsyncBulkhead bulkhead) {
+        if (bulkhead == null) {
+            mBulkheads.remove(owner);
+        } else {
+            mBulkheads.put(owner, bulkhead);
+        }
+    }
+
+    /**
+     * Retrieves the {@link AsyncBulkhead} of the given owner.
+     *
+     * @param owner The owner of the tasks.
+     *
+     * @return The bulkhead of the owner.
+     */
+    public AsyncBulkhead getBulkhead(Object owner) {
+        if (owner == null) {
+            return AsyncBulkhead.UNLIMITED;
+        }
+        final AsyncBulkhead bulkhead = mBulkheads.get(owner);
+        return bulkhead != null ? bulkhead : (mParent != null ? mParent : this).mBulkhead;
+    }
+
+    /**
+     * Retrieves how many tasks are alive in every lane of the scheduler.
+     * <br/>
+     * NOTE: Each lane counts its own tasks, so this method may run on any thread.
+     *
+     * @return The number of tasks that have not been cancelled.
+     */
+    public int getLiveCount() {
+        int count = 0;
+        for (final SimpleScheduler lane : (mParent != null ? mParent : this).mLanes) {
+            count += lane.mTaskCount - lane.mCancelQueue.size();
+        }
+        return Math.max(0, count);
+    }
+
+    /**
+     * Retrieves how many cancelled tasks are still held by every lane of the scheduler.
+     * <br/>
+     * NOTE: Tasks cancelled from the thread of their lane are removed at once, otherwise they
+     * are removed at the start of the next tick of their lane.
+     *
+     * @return The number of cancelled tasks waiting to be removed.
+     */
+    public int getCancelledCount() {
+        int count = 0;
+        for (final SimpleScheduler lane : (mParent != null ? mParent : this).mLanes) {
+            count += lane.mCancelQueue.size();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the {@link AsyncPool} of the scheduler, shared by every lane.
+     *
+     * @return A reference to the pool of asynchronous tasks.
+     */
+    public AsyncPool getAsyncPool() {
+        return mExecutor;
+    }
+
+    /**
+     * Retrieves the {@link TaskProfiler} of the scheduler, shared by every lane.
+     *
+     * @return A reference to the profiler of the scheduler.
+     */
+    public TaskProfiler getProfiler() {
+        return mProfiler;
+    }
+
+    /**
+     * Retrieves the {@link SchedulerWatchdog} of the scheduler.
+     *
+     * @return A reference to the watchdog of the scheduler.
+     */
+    public SchedulerWatchdog getWatchdog() {
+        return mWatchdog;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, long delay, long period, boolean isAsync) {
+    public Task invoke(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, TaskRepeat repeat, long delay, long period, boolean isAsync) {
         final SimpleTask task = new SimpleTask(owner,
-                consumer, priority, isAsync, System.currentTimeMillis() - mStartTime + delay, period);
-        mDirtyQueue.add(task);
+                consumer, priority, phase, repeat, isAsync, mTickCount + delay, period);
+        if (isAsync) {
+            task.mRunner = mExecutor.track(() -> executeTaskIfNotDestroyOrRepeat(task));
+        }
+        task.mScheduler = this;
+        mDirtyQueue.offer(task);
         return task;
     }
 
@@ -138,7 +479,9 @@ public final class SimpleScheduler implements Scheduler {
             throw new IllegalStateException();
         }
         final SimpleTask implTask = (SimpleTask) task;
-        implTask.cancel();
+        if (implTask.cancel() && implTask.mScheduler != null) {
+            implTask.mScheduler.evict(implTask);
+        }
     }
 
     /**
@@ -146,9 +489,12 @@ public final class SimpleScheduler implements Scheduler {
      */
     @Override
     public void cancelAllTasks(Object owner) {
-        final Predicate<SimpleTask> predicate = task -> task.getOwner().equals(owner);
-        mQueue.stream().filter(predicate).forEach(SimpleTask::cancel);
-        mDirtyQueue.removeIf(predicate);
+        for (final SimpleScheduler lane : mLanes) {
+            lane.cancelLaneTasks(owner);
+            lane.mWatchdog.reset(owner);
+        }
+        mProfiler.reset(owner);
+        mPermits.remove(owner);
     }
 
     /**
@@ -156,8 +502,89 @@ public final class SimpleScheduler implements Scheduler {
      */
     @Override
     public void cancelAllTasks() {
-        mQueue.forEach(SimpleTask::cancel);
-        mDirtyQueue.clear();
+        for (final SimpleScheduler lane : mLanes) {
+            lane.cancelLaneTasks();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void runNextTick(Runnable command) {
+        if (mThread == Thread.currentThread()) {
+            addCommand(command);
+        } else {
+            mCommandQueue.offer(command);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLaneCount() {
+        return (mParent != null ? mParent : this).mLanes.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Scheduler getLane(Object key) {
+        final SimpleScheduler[] lanes = (mParent != null ? mParent : this).mLanes;
+        return key == null ? lanes[0] : lanes[Math.floorMod(key.hashCode(), lanes.length)];
+    }
+
+    /**
+     * Cancel all tasks of the given owner that belong to this lane.
+     *
+     * @param owner The owner of the tasks.
+     */
+    private void cancelLaneTasks(Object owner) {
+        if (!isSchedulerThread()) {
+            mCancelAllQueue.offer(() -> cancelLaneTasks(owner));
+            return;
+        }
+        mDirtyQueue.drain(mRegister, Integer.MAX_VALUE);
+
+        final TaskGroup group = mGroups.remove(owner);
+        if (group != null) {
+            cancelGroup(group);
+        }
+    }
+
+    /**
+     * Cancel all tasks that belong to this lane.
+     */
+    private void cancelLaneTasks() {
+        if (!isSchedulerThread()) {
+            mCancelAllQueue.offer(this::cancelLaneTasks);
+            return;
+        }
+        mDirtyQueue.drain(mRegister, Integer.MAX_VALUE);
+
+        mGroups.values().forEach(this::cancelGroup);
+        mGroups.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTaskCount(Object owner) {
+        final TaskGroup group = mGroups.get(owner);
+        return group != null ? group.size() : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Object, Integer> getTaskCountByOwner() {
+        final Map<Object, Integer> counts = new IdentityHashMap<>(mGroups.size());
+        mGroups.forEach((owner, group) -> counts.put(owner, group.size()));
+        return counts;
     }
 
     /**
@@ -173,29 +600,415 @@ public final class SimpleScheduler implements Scheduler {
      */
     @Override
     public boolean isOverloaded() {
-        return mActive.get();
+        return mOverloaded.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTickBudget() {
+        return mTickBudget;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTickWorkTime() {
+        return mTickWorkTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTickIdleTime() {
+        return mTickIdleTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTick() {
+        return mTickCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTickStartTime() {
+        return mTickStart;
+    }
+
+    /**
+     * Converts the given time into ticks of the scheduler, rounded up.
+     *
+     * @param millis The time (in milliseconds) to convert.
+     *
+     * @return The number of ticks that cover the time.
+     */
+    private long toTicks(long millis) {
+        return (millis * mDesiredTicks + 999L) / 1000L;
+    }
+
+    /**
+     * Creates a queue for each phase of the tick.
+     *
+     * @return The queues indexed by the ordinal of {@link TaskPhase}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Queue<SimpleTask>[] newPhaseQueues() {
+        final Queue<SimpleTask>[] queues = new Queue[TaskPhase.values().length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        return queues;
+    }
+
+    /**
+     * Check if the caller is running on the scheduler's thread.
+     * <br/>
+     * NOTE: Before the scheduler has been started, and once it has been stopped, no thread is the scheduler's
+     * thread; changes are queued and handled at the start of the next tick.
+     *
+     * @return True if the caller may access the scheduler's structures, false otherwise.
+     */
+    private boolean isSchedulerThread() {
+        return mThread == Thread.currentThread();
+    }
+
+    /**
+     * Adds the given command into the commands executed on the next tick.
+     *
+     * @param command The command to be executed.
+     */
+    private void addCommand(Runnable command) {
+        if (mCommandCount == mCommands.length) {
+            mCommands = Arrays.copyOf(mCommands, mCommandCount << 1);
+        }
+        mCommands[mCommandCount++] = command;
+    }
+
+    /**
+     * Swaps the arrays of commands at the start of the tick, so every command added before the tick is
+     * executed on this tick and every command added during the tick on the next one.
+     */
+    private void prepareCommands() {
+        final Runnable[] commands = mCommands;
+        mCommands = mCommandsBack;
+        mCommandsBack = commands;
+        mReadyCount = mCommandCount;
+        mCommandCount = 0;
+    }
+
+    /**
+     * Executes every command added before the current tick.
+     */
+    private void executeCommands() {
+        final Runnable[] commands = mCommandsBack;
+        final int count = mReadyCount;
+        mReadyCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            final Runnable command = commands[i];
+            commands[i] = null;
+            try {
+                if (mProfiler.isEnabled()) {
+                    mProfiler.execute(command);
+                } else {
+                    command.run();
+                }
+            } catch (Exception exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Dispatch the given task to the asynchronous channel or the synchronous channel.
+     *
+     * @param task The task that has expired from the wheel.
+     */
+    private void dispatch(SimpleTask task) {
+        if (!task.isAlive()) {
+            unregister(task);
+            return;
+        }
+        if (mOverloaded.get() && task.getPriority().compareTo(TaskPriority.NORMAL) < 0 && shed(task)) {
+            return;
+        }
+        if (task.isAsynchronous()) {
+            dispatchAsync(task);
+        } else {
+            mSyncQueues[task.getPhase().ordinal()].add(task);
+        }
+    }
+
+    /**
+     * Dispatch the given task to the asynchronous channel, within the {@link AsyncBulkhead} of its owner.
+     * <br/>
+     * NOTE: The running counter of an owner is shared by every lane, so the limit holds across all of them.
+     *
+     * @param task The task that has expired from the wheel.
+     */
+    private void dispatchAsync(SimpleTask task) {
+        final TaskGroup group = task.mGroup;
+        final AsyncBulkhead bulkhead = getBulkhead(task.getOwner());
+        if (group != null && bulkhead.isLimited()) {
+            if (!acquire(group, bulkhead)) {
+                if (bulkhead.getPolicy() == AsyncBulkhead.Policy.DEFER) {
+                    task.setTime(mTickCount + toTicks(task.getPriority().getDeferredTime()));
+                    mWheel.add(task);
+                } else if (bulkhead.getPolicy() == AsyncBulkhead.Policy.QUEUE
+                        && group.mPending.size() < bulkhead.getCapacity()) {
+                    if (!group.mWaiting) {
+                        group.mWaiting = true;
+                        mWaiting.add(group);
+                    }
+                    group.mPending.add(task);
+                } else {
+                    reject(task);
+                }
+                return;
+            }
+            task.mPermit = group.mRunning;
+        }
+        mExecutor.executeTracked(task.mRunner);
+    }
+
+    /**
+     * Acquires a permit of the {@link AsyncBulkhead} of the given group.
+     *
+     * @param group    The group of the owner.
+     * @param bulkhead The bulkhead of the owner.
+     *
+     * @return True if the permit has been acquired, false if the owner has reached its limit.
+     */
+    private boolean acquire(TaskGroup group, AsyncBulkhead bulkhead) {
+        AtomicInteger running = group.mRunning;
+        if (running == null) {
+            running = group.mRunning = mPermits.computeIfAbsent(group.getOwner(), (T) -> new AtomicInteger());
+        }
+        for (int count; (count = running.get()) < bulkhead.getLimit(); ) {
+            if (running.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rejects the given task because the bulkhead of its owner is full.
+     * <br/>
+     * NOTE: Repeating tasks skip their run, one-shot tasks are cancelled.
+     *
+     * @param task The task that has been rejected.
+     */
+    private void reject(SimpleTask task) {
+        mRejectedCount++;
+        if (task.isRepeating()) {
+            task.setSchedule(mTickCount + task.getPeriod(), mTickStart + task.getPeriod() * mTickBudget);
+            mWheel.add(task);
+        } else {
+            task.cancel();
+            unregister(task);
+        }
+    }
+
+    /**
+     * Releases the permit of the given task, and dispatch the tasks waiting for it.
+     *
+     * @param task The asynchronous task that has been executed.
+     */
+    private void release(SimpleTask task) {
+        task.mPermit.decrementAndGet();
+        task.mPermit = null;
+
+        final TaskGroup group = task.mGroup;
+        if (group != null) {
+            dispatchPending(group);
+        }
+    }
+
+    /**
+     * Dispatch the tasks of every group of this lane that are waiting for a permit.
+     * <br/>
+     * NOTE: Permits released on another lane are only seen here, once per tick.
+     */
+    private void dispatchWaiting() {
+        for (int i = mWaiting.size(); i > 0; i--) {
+            final TaskGroup group = mWaiting.poll();
+            if (dispatchPending(group)) {
+                mWaiting.add(group);
+            } else {
+                group.mWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Dispatch the tasks of the given group that are waiting for a permit, while the owner is within its limit.
+     *
+     * @param group The group of the tasks.
+     *
+     * @return True if tasks are still waiting for a permit, false otherwise.
+     */
+    private boolean dispatchPending(TaskGroup group) {
+        final AsyncBulkhead bulkhead = getBulkhead(group.getOwner());
+        while (!group.mPending.isEmpty()) {
+            final SimpleTask pending = group.mPending.peek();
+            if (!pending.isAlive()) {
+                group.mPending.poll();
+                unregister(pending);
+            } else if (!bulkhead.isLimited()) {
+                group.mPending.poll();
+                mExecutor.executeTracked(pending.mRunner);
+            } else if (acquire(group, bulkhead)) {
+                group.mPending.poll();
+                pending.mPermit = group.mRunning;
+                mExecutor.executeTracked(pending.mRunner);
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Defers the given task while the scheduler is overloaded.
+     * <br/>
+     * NOTE: A task is deferred once by {@link TaskPriority#getDeferredTime()}, if the scheduler is still
+     * overloaded afterwards one-shot tasks are executed and repeating tasks skip their run.
+     *
+     * @param task The task that has expired from the wheel.
+     *
+     * @return True if the task has been deferred or skipped, false if it must be executed.
+     */
+    private boolean shed(SimpleTask task) {
+        final long time = mTickCount;
+        if (!task.isDeferred()) {
+            task.setDeferred(true);
+            task.setTime(time + toTicks(task.getPriority().getDeferredTime()));
+            mWheel.add(task);
+            mDeferredCount++;
+        } else if (task.isRepeating()) {
+            task.setDeferred(false);
+            task.setSchedule(time + task.getPeriod(), mTickStart + task.getPeriod() * mTickBudget);
+            mWheel.add(task);
+            mShedCount++;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Registers the given task into the wheel and into the group of its owner.
+     * <br/>
+     * NOTE: Tasks that come back after being executed are re-armed if repeating, or removed
+     * from the group of their owner otherwise.
+     *
+     * @param task The task that has been submitted to the scheduler.
+     */
+    private void register(SimpleTask task) {
+        if (task.mPermit != null) {
+            release(task);
+        }
+        if (task.mGroup == null) {
+            if (task.isAlive()) {
+                TaskGroup group = mGroups.get(task.getOwner());
+                if (group == null) {
+                    mGroups.put(task.getOwner(), group = new TaskGroup(task.getOwner()));
+                }
+                group.add(task);
+                mWheel.add(task);
+                mTaskCount++;
+            }
+        } else if (task.isRepeating() && task.isAlive()) {
+            mWheel.add(task);
+        } else {
+            unregister(task);
+        }
+    }
+
+    /**
+     * Removes the given cancelled task from the wheel and from the group of its owner.
+     * <br/>
+     * NOTE: Tasks that are not in the wheel are being executed, they are removed once they come back.
+     *
+     * @param task The task that has been cancelled.
+     */
+    private void evict(SimpleTask task) {
+        if (!isSchedulerThread()) {
+            mCancelQueue.offer(task);
+        } else if (mWheel.remove(task)) {
+            unregister(task);
+        }
+    }
+
+    /**
+     * Cancel and removes every task of the given group.
+     *
+     * @param group The group of the tasks to cancel.
+     */
+    private void cancelGroup(TaskGroup group) {
+        mTaskCount -= group.size();
+        group.forEach(mWheel::remove);
+        group.cancelAll();
+    }
+
+    /**
+     * Removes the given task from the group of its owner.
+     *
+     * @param task The task that will no longer be executed.
+     */
+    private void unregister(SimpleTask task) {
+        final TaskGroup group = task.mGroup;
+        if (group != null) {
+            group.remove(task);
+            mTaskCount--;
+            if (group.isEmpty() && mGroups.get(group.getOwner()) == group) {
+                mGroups.remove(group.getOwner());
+            }
+        }
     }
 
     /**
      * Executes the given task.
      *
-     * NOTE: The task is added back if its repeated.
+     * NOTE: The task is re-armed in place if its repeated, so the handle returned by
+     * {@link #invoke(Object, Consumer, TaskPriority, TaskPhase, TaskRepeat, long, long, boolean)} stays valid.
+     * Asynchronous tasks are handed back to the scheduler's thread through the submission queue.
      *
      * @param task The task to be executed.
      */
     private void executeTaskIfNotDestroyOrRepeat(SimpleTask task) {
-        try {
-            task.execute();
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
-        if (task.isRepeating() && task.isAlive()) {
-            invoke(task.getOwner(),
-                    task.getConsumer(),
-                    task.getPriority(),
-                    task.getPeriod(),
-                    task.getPeriod(),
-                    task.isAsynchronous());
+        if (task.isAlive()) {
+            if (!task.isAsynchronous()) {
+                mCurrentTask.lazySet(task);
+            }
+            try {
+                if (mProfiler.isEnabled()) {
+                    mProfiler.execute(task);
+                } else {
+                    task.execute();
+                }
+            } catch (Exception exception) {
+                exception.printStackTrace();
+            }
+            task.setDeferred(false);
+            if (task.isRepeating() && task.isAlive()) {
+                task.setNextTime(mTickCount, mTickStart, mTickBudget);
+            }
+        }
+        if (task.isAsynchronous()) {
+            mDirtyQueue.offer(task);
+        } else {
+            mCurrentTask.lazySet(null);
+            register(task);
         }
     }
 }
\ No newline at end of file
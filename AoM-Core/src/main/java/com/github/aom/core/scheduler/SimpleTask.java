@@ -18,32 +18,80 @@
 package com.github.aom.core.scheduler;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 /**
  * Define the implementation of {@link Task}.
  */
-public final class SimpleTask implements Task, Comparable<SimpleTask> {
+public final class SimpleTask implements Task {
+    /**
+     * Define the schedule of a task that has not been executed yet.
+     */
+    private final static long UNSCHEDULED = Long.MIN_VALUE;
+
+    /**
+     * Define the updater that hands the cancel hook over to exactly one thread.
+     */
+    private final static AtomicReferenceFieldUpdater<SimpleTask, Runnable> CANCEL_HOOK
+            = AtomicReferenceFieldUpdater.newUpdater(SimpleTask.class, Runnable.class, "mCancelHook");
+
     private final Object mOwner;
     private final Consumer<Task> mConsumer;
     private final TaskPriority mPriority;
+    private final TaskPhase mPhase;
+    private final TaskRepeat mRepeat;
     private final AtomicBoolean mAlive = new AtomicBoolean(true);
     private final boolean mRepeating;
     private final boolean mAsynchronous;
     private final long mPeriod;
-    private final long mTick;
+    private long mTick;
+    private long mScheduled;
+    private boolean mDeferred;
+    private volatile Runnable mCancelHook;
+
+    //!
+    //! The runnable that executes the task on the asynchronous channel.
+    //!
+    protected Runnable mRunner;
+
+    //!
+    //! The scheduler that owns the task.
+    //!
+    protected SimpleScheduler mScheduler;
+
+    //!
+    //! The slot of the {@link TimingWheel} that holds the task, and the neighbours of the task in the slot.
+    //!
+    protected int mSlot = -1;
+    protected SimpleTask mPrevious, mNext;
+
+    //!
+    //! The group of the owner of the task, and the neighbours of the task in the group.
+    //!
+    protected TaskGroup mGroup;
+    protected SimpleTask mGroupPrevious, mGroupNext;
+
+    //!
+    //! The running counter of the owner while the task holds a permit of its {@link AsyncBulkhead}, null otherwise.
+    //!
+    protected AtomicInteger mPermit;
 
     /**
      * Default constructor for {@link SimpleTask}.
      */
-    public SimpleTask(Object owner, Consumer<Task> consumer, TaskPriority priority, boolean async, long tick, long period) {
+    public SimpleTask(Object owner, Consumer<Task> consumer, TaskPriority priority, TaskPhase phase, TaskRepeat repeat, boolean async, long tick, long period) {
         this.mOwner = owner;
         this.mConsumer = consumer;
         this.mPriority = priority;
+        this.mPhase = phase;
+        this.mRepeat = repeat;
         this.mRepeating = period != -1;
         this.mAsynchronous = async;
         this.mPeriod = period;
         this.mTick = tick;
+        this.mScheduled = UNSCHEDULED;
     }
 
     /**
@@ -55,9 +103,40 @@ public final class SimpleTask implements Task, Comparable<SimpleTask> {
 
     /**
      * Cancel the task.
+     *
+     * @return True if the task has been cancelled, false if it was already cancelled.
+     */
+    public boolean cancel() {
+        if (!mAlive.getAndSet(false)) {
+            return false;
+        }
+        runCancelHook();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setCancelHook(Runnable hook) {
+        mCancelHook = hook;
+        if (!isAlive()) {
+            runCancelHook();
+        }
+    }
+
+    /**
+     * Executes the cancel hook of the task, if it has not been executed yet.
      */
-    public void cancel() {
-        mAlive.set(false);
+    private void runCancelHook() {
+        final Runnable hook = CANCEL_HOOK.getAndSet(this, null);
+        if (hook != null) {
+            try {
+                hook.run();
+            } catch (Exception exception) {
+                exception.printStackTrace();
+            }
+        }
     }
 
     /**
@@ -81,12 +160,88 @@ public final class SimpleTask implements Task, Comparable<SimpleTask> {
     /**
      * Retrieves the time of the task.
      *
-     * @return The time of the task.
+     * @return The tick the task is due.
      */
     public long getTime() {
         return mTick;
     }
 
+    /**
+     * Changes the time of the task.
+     * <br/>
+     * NOTE: Only valid while the task is not in the scheduler, used to re-arm repeating tasks.
+     *
+     * @param time The new time of the task.
+     */
+    public void setTime(long time) {
+        mTick = time;
+    }
+
+    /**
+     * Changes the time of the task and the schedule followed by {@link TaskRepeat}.
+     * <br/>
+     * NOTE: Only valid while the task is not in the scheduler, used to skip a run of repeating tasks.
+     *
+     * @param tick     The new time of the task.
+     * @param schedule The time (in nanoseconds of the scheduler's clock) the skipped run was scheduled at.
+     */
+    public void setSchedule(long tick, long schedule) {
+        mTick = tick;
+        mScheduled = schedule;
+    }
+
+    /**
+     * Re-arms the task for its next run.
+     * <br/>
+     * NOTE: Fixed-rate schedules are anchored on the first run that has been executed and kept in the
+     * nanoseconds of the scheduler's clock, since the scheduler drops ticks when it falls behind.
+     *
+     * @param tick   The tick the last run of the task has been executed.
+     * @param time   The time (in nanoseconds of the scheduler's clock) the tick has started.
+     * @param budget The time (in nanoseconds) of a tick.
+     */
+    public void setNextTime(long tick, long time, long budget) {
+        if (mRepeat == TaskRepeat.FIXED_DELAY || mPeriod <= 0) {
+            mTick = tick + mPeriod;
+            return;
+        }
+        final long schedule = (mScheduled == UNSCHEDULED ? time : mScheduled);
+        final long period = mPeriod * budget;
+        final long missed = Math.max(0L, (time - schedule) / period);
+        switch (mRepeat) {
+            case FIXED_RATE:
+                mScheduled = schedule + period;
+                break;
+            case FIXED_RATE_ONCE:
+                mScheduled = schedule + period * Math.max(1L, missed);
+                break;
+            default:
+                mScheduled = schedule + period * (missed + 1L);
+                break;
+        }
+        // Rounded to the nearest tick so the jitter of the tick start does not drift the schedule, a run
+        // that is already late is due on the next tick.
+        mTick = tick + Math.max(1L, (mScheduled - time + budget / 2) / budget);
+    }
+
+    /**
+     * Check if the task has been deferred because the scheduler was overloaded.
+     *
+     * @return True if the task has been deferred, false otherwise.
+     */
+    public boolean isDeferred() {
+        return mDeferred;
+    }
+
+    /**
+     * Changes the deferred state of the task.
+     *
+     * @param deferred True if the task has been deferred, false otherwise.
+     */
+    public void setDeferred(boolean deferred) {
+        mDeferred = deferred;
+    }
+
     /**
      * Retrieves the period of the task.
      *
@@ -105,6 +260,24 @@ public final class SimpleTask implements Task, Comparable<SimpleTask> {
         return mPriority;
     }
 
+    /**
+     * Retrieves the phase of the task.
+     *
+     * @return The phase of the tick where the task is executed.
+     */
+    public TaskPhase getPhase() {
+        return mPhase;
+    }
+
+    /**
+     * Retrieves the repeat mode of the task.
+     *
+     * @return The way the task is repeated.
+     */
+    public TaskRepeat getRepeat() {
+        return mRepeat;
+    }
+
     /**
      * Check if the task is being repeating.
      *
@@ -131,13 +304,4 @@ public final class SimpleTask implements Task, Comparable<SimpleTask> {
     public boolean isAsynchronous() {
         return mAsynchronous;
     }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public int compareTo(SimpleTask o) {
-        final int result = (mTick < o.mTick ? -1 : mTick > o.mTick ? 1 : 0);
-        return (result == 0 ? mPriority.getDeferredTime() - o.mPriority.getDeferredTime() : result);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Define a {@link SchedulerClock} that follows {@link System#nanoTime()}.
+ */
+public final class SystemClock implements SchedulerClock {
+    /**
+     * Define how many nanoseconds before the deadline the clock stops parking and spins.
+     */
+    protected final static long SPIN_THRESHOLD = 250000L;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * NOTE: The last {@link #SPIN_THRESHOLD} nanoseconds are spun to avoid the wake-up latency of parking.
+     */
+    @Override
+    public void parkUntil(long deadline, BooleanSupplier condition) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_THRESHOLD && condition.getAsBoolean()) {
+            LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD);
+        }
+        while (deadline - System.nanoTime() > 0 && condition.getAsBoolean()) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Define the group of every {@link SimpleTask} that belong to the same owner.
+ * <br/>
+ * Tasks are linked intrusively, so adding and removing a task is O(1).
+ */
+public final class TaskGroup {
+    private final Object mOwner;
+    private SimpleTask mHead;
+    private int mSize;
+
+    //!
+    //! The number of asynchronous tasks of the owner running on every lane, and the tasks of this lane waiting
+    //! for a permit of the {@link AsyncBulkhead}.
+    //!
+    protected AtomicInteger mRunning;
+    protected final Queue<SimpleTask> mPending = new ArrayDeque<>();
+
+    //!
+    //! True while the group is in the queue of the groups waiting for a permit of its lane.
+    //!
+    protected boolean mWaiting;
+
+    /**
+     * Default constructor for {@link TaskGroup}.
+     *
+     * @param owner The owner of the group.
+     */
+    public TaskGroup(Object owner) {
+        this.mOwner = owner;
+    }
+
+    /**
+     * Adds the given task into the group.
+     *
+     * @param task The task to add into the group.
+     */
+    public void add(SimpleTask task) {
+        task.mGroup = this;
+        task.mGroupPrevious = null;
+        task.mGroupNext = mHead;
+        if (mHead != null) {
+            mHead.mGroupPrevious = task;
+        }
+        mHead = task;
+        mSize++;
+    }
+
+    /**
+     * Removes the given task from the group.
+     *
+     * @param task The task to remove from the group.
+     */
+    public void remove(SimpleTask task) {
+        if (task.mGroupPrevious != null) {
+            task.mGroupPrevious.mGroupNext = task.mGroupNext;
+        } else {
+            mHead = task.mGroupNext;
+        }
+        if (task.mGroupNext != null) {
+            task.mGroupNext.mGroupPrevious = task.mGroupPrevious;
+        }
+        task.mGroup = null;
+        task.mGroupPrevious = task.mGroupNext = null;
+        mSize--;
+    }
+
+    /**
+     * Cancel and removes every task of the group.
+     */
+    public void cancelAll() {
+        SimpleTask task = mHead;
+        while (task != null) {
+            final SimpleTask next = task.mGroupNext;
+            task.cancel();
+            task.mGroup = null;
+            task.mGroupPrevious = task.mGroupNext = null;
+            task = next;
+        }
+        mHead = null;
+        mSize = 0;
+        mPending.clear();
+    }
+
+    /**
+     * Executes the given consumer for each task of the group.
+     *
+     * @param consumer The consumer of every task.
+     */
+    public void forEach(Consumer<SimpleTask> consumer) {
+        for (SimpleTask task = mHead; task != null; task = task.mGroupNext) {
+            consumer.accept(task);
+        }
+    }
+
+    /**
+     * Retrieves the owner of the group.
+     *
+     * @return The owner of the group.
+     */
+    public Object getOwner() {
+        return mOwner;
+    }
+
+    /**
+     * Retrieves how many tasks are in the group.
+     *
+     * @return The number of tasks in the group.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Check if the group has no task.
+     *
+     * @return True if the group is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+}
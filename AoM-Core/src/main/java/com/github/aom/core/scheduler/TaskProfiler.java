@@ -0,0 +1,262 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Define a profiler that measures the execution time of every {@link SimpleTask}.
+ * <br/>
+ * The time of each execution is aggregated into a {@link Histogram} of its owner and a {@link Histogram}
+ * of its source (the class of its consumer). The profiler can be enabled and disabled at any time.
+ * <br/>
+ * Commands of {@link SimpleScheduler#runNextTick(Runnable)} have no owner, so they are aggregated into
+ * a single {@link Histogram} of their own.
+ */
+public final class TaskProfiler {
+    /**
+     * Define the key used for tasks without owner, since the histograms cannot hold null keys.
+     */
+    private final static Object ENGINE_OWNER = new Object();
+
+    private final Map<Object, Histogram> mOwners = new ConcurrentHashMap<>();
+    private final Map<Object, Map<Class<?>, Histogram>> mSources = new ConcurrentHashMap<>();
+    private volatile Histogram mCommands = new Histogram();
+    private volatile boolean mEnabled;
+
+    /**
+     * Changes if the profiler is enabled.
+     *
+     * @param enabled True to measure every task, false otherwise.
+     */
+    public void setEnabled(boolean enabled) {
+        this.mEnabled = enabled;
+    }
+
+    /**
+     * Check if the profiler is enabled.
+     *
+     * @return True if the profiler measures every task, false otherwise.
+     */
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Executes the given task and measures its execution time.
+     *
+     * @param task The task to be executed.
+     */
+    public void execute(SimpleTask task) {
+        final long start = System.nanoTime();
+        try {
+            task.execute();
+        } finally {
+            final long time = System.nanoTime() - start;
+            final Object owner = (task.getOwner() == null ? ENGINE_OWNER : task.getOwner());
+            mOwners.computeIfAbsent(owner, (T) -> new Histogram()).add(time);
+            mSources.computeIfAbsent(owner, (T) -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(task.getConsumer().getClass(), (T) -> new Histogram()).add(time);
+        }
+    }
+
+    /**
+     * Executes the given command and measures its execution time.
+     *
+     * @param command The command to be executed.
+     */
+    public void execute(Runnable command) {
+        final long start = System.nanoTime();
+        try {
+            command.run();
+        } finally {
+            mCommands.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Removes every measure of the profiler.
+     */
+    public void reset() {
+        mOwners.clear();
+        mSources.clear();
+        mCommands = new Histogram();
+    }
+
+    /**
+     * Removes every measure of the given owner, so an unloaded owner and the classes of its consumers
+     * are not retained by the profiler.
+     *
+     * @param owner The owner of the tasks.
+     */
+    public void reset(Object owner) {
+        final Object key = (owner == null ? ENGINE_OWNER : owner);
+        mOwners.remove(key);
+        mSources.remove(key);
+    }
+
+    /**
+     * Retrieves the histogram of each owner.
+     *
+     * @return A snapshot that maps each owner to its histogram.
+     */
+    public Map<Object, Histogram> getOwnerHistograms() {
+        final Map<Object, Histogram> histograms = new HashMap<>(mOwners.size());
+        mOwners.forEach((owner, histogram) -> histograms.put(owner == ENGINE_OWNER ? null : owner, histogram));
+        return histograms;
+    }
+
+    /**
+     * Retrieves the histogram of each source.
+     * <br/>
+     * NOTE: A source shared by many owners is merged into a new histogram.
+     *
+     * @return A snapshot that maps the class of each consumer to its histogram.
+     */
+    public Map<Class<?>, Histogram> getSourceHistograms() {
+        final Map<Class<?>, Histogram> histograms = new HashMap<>();
+        mSources.values().forEach((T) -> T.forEach((source, histogram) -> histograms.merge(source, histogram,
+                (first, second) -> new Histogram().merge(first).merge(second))));
+        return histograms;
+    }
+
+    /**
+     * Retrieves the histogram of each source of the given owner.
+     *
+     * @param owner The owner of the tasks.
+     *
+     * @return A snapshot that maps the class of each consumer of the owner to its histogram.
+     */
+    public Map<Class<?>, Histogram> getSourceHistograms(Object owner) {
+        final Map<Class<?>, Histogram> histograms = mSources.get(owner == null ? ENGINE_OWNER : owner);
+        return histograms != null ? new HashMap<>(histograms) : new HashMap<>();
+    }
+
+    /**
+     * Retrieves the histogram of the commands executed on the next tick.
+     *
+     * @return The histogram of every command.
+     */
+    public Histogram getCommandHistogram() {
+        return mCommands;
+    }
+
+    /**
+     * Define a histogram of execution times with one bucket per power of two.
+     * <br/>
+     * NOTE: Percentiles are the upper bound of their bucket, so they are accurate within a factor of two.
+     */
+    public final static class Histogram {
+        private final AtomicLongArray mBuckets = new AtomicLongArray(Long.SIZE);
+        private final AtomicLong mCount = new AtomicLong();
+        private final AtomicLong mTotalTime = new AtomicLong();
+        private final AtomicLong mMaxTime = new AtomicLong();
+
+        /**
+         * Adds the given execution time into the histogram.
+         *
+         * @param time The time (in nanoseconds) of the execution.
+         */
+        public void add(long time) {
+            mBuckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(1L, time)));
+            mCount.incrementAndGet();
+            mTotalTime.addAndGet(time);
+
+            updateMaxTime(time);
+        }
+
+        /**
+         * Adds every execution of the given histogram into the histogram.
+         *
+         * @param histogram The histogram to add.
+         *
+         * @return A reference to the histogram.
+         */
+        private Histogram merge(Histogram histogram) {
+            for (int i = 0; i < Long.SIZE; i++) {
+                mBuckets.addAndGet(i, histogram.mBuckets.get(i));
+            }
+            mCount.addAndGet(histogram.mCount.get());
+            mTotalTime.addAndGet(histogram.mTotalTime.get());
+            updateMaxTime(histogram.mMaxTime.get());
+            return this;
+        }
+
+        /**
+         * Updates the time of the longest execution.
+         *
+         * @param time The time (in nanoseconds) of an execution.
+         */
+        private void updateMaxTime(long time) {
+            long max;
+            while (time > (max = mMaxTime.get()) && !mMaxTime.compareAndSet(max, time)) {
+                // Retry until the maximum is updated.
+            }
+        }
+
+        /**
+         * Retrieves how many executions have been measured.
+         *
+         * @return The number of executions.
+         */
+        public long getCount() {
+            return mCount.get();
+        }
+
+        /**
+         * Retrieves the time spent by every execution.
+         *
+         * @return The total time (in nanoseconds) of the executions.
+         */
+        public long getTotalTime() {
+            return mTotalTime.get();
+        }
+
+        /**
+         * Retrieves the time of the longest execution.
+         *
+         * @return The maximum time (in nanoseconds) of an execution.
+         */
+        public long getMaxTime() {
+            return mMaxTime.get();
+        }
+
+        /**
+         * Retrieves the time under which the given fraction of the executions completed.
+         *
+         * @param percentile The fraction of the executions (e.g 0.99 for the 99th percentile).
+         *
+         * @return The time (in nanoseconds) of the percentile.
+         */
+        public long getPercentile(double percentile) {
+            final long target = (long) Math.ceil(mCount.get() * percentile);
+            long count = 0;
+            for (int i = 0; i < Long.SIZE; i++) {
+                count += mBuckets.get(i);
+                if (count >= target && count > 0) {
+                    return Math.min(mMaxTime.get(), i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1);
+                }
+            }
+            return 0L;
+        }
+    }
+}
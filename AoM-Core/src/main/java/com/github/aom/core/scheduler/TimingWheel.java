@@ -0,0 +1,267 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Define a hierarchical hashed timing wheel of {@link SimpleTask}s.
+ * <br/>
+ * The first level has one slot per unit of time, every other level has one slot per
+ * whole revolution of the previous level. Tasks are moved down (cascaded) into a finer
+ * level once their due time is in range, so scheduling, removal and expiry are O(1).
+ */
+public final class TimingWheel {
+    /**
+     * Define how many bits of the time are used by each level.
+     */
+    protected final static int WHEEL_BITS = 8;
+
+    /**
+     * Define how many slots are in each level.
+     */
+    protected final static int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    /**
+     * Define the mask to retrieve the slot of a level.
+     */
+    protected final static int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /**
+     * Define how many levels the wheel has.
+     */
+    protected final static int WHEEL_LEVELS = 4;
+
+    /**
+     * Define the longest delay the wheel can hold, longer delays are re-inserted when expired.
+     */
+    protected final static long WHEEL_SPAN = (1L << (WHEEL_BITS * WHEEL_LEVELS)) - 1;
+
+    private final SimpleTask[][] mHeads = new SimpleTask[WHEEL_LEVELS][WHEEL_SIZE];
+    private final SimpleTask[][] mTails = new SimpleTask[WHEEL_LEVELS][WHEEL_SIZE];
+    private final SimpleTask[] mBucketHeads = new SimpleTask[TaskPriority.values().length];
+    private final SimpleTask[] mBucketTails = new SimpleTask[TaskPriority.values().length];
+    private long mTime;
+    private int mSize;
+
+    /**
+     * Default constructor for {@link TimingWheel}.
+     *
+     * @param time The time where the wheel starts.
+     */
+    public TimingWheel(long time) {
+        this.mTime = time;
+    }
+
+    /**
+     * Adds a task into the wheel.
+     *
+     * @param task The task to add into the wheel.
+     */
+    public void add(SimpleTask task) {
+        insert(task);
+        mSize++;
+    }
+
+    /**
+     * Removes a task from the wheel.
+     *
+     * @param task The task to remove from the wheel.
+     *
+     * @return True if the task has been removed, false if the task was not in the wheel.
+     */
+    public boolean remove(SimpleTask task) {
+        final int slot = task.mSlot;
+        if (slot < 0) {
+            return false;
+        }
+        final int level = slot >>> WHEEL_BITS;
+        final int index = slot & WHEEL_MASK;
+        if (task.mPrevious != null) {
+            task.mPrevious.mNext = task.mNext;
+        } else {
+            mHeads[level][index] = task.mNext;
+        }
+        if (task.mNext != null) {
+            task.mNext.mPrevious = task.mPrevious;
+        } else {
+            mTails[level][index] = task.mPrevious;
+        }
+        task.mSlot = -1;
+        task.mPrevious = task.mNext = null;
+        mSize--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given time (inclusive).
+     * <br/>
+     * NOTE: Tasks of the same slot are handed over from {@link TaskPriority#CRITICAL} down
+     * to {@link TaskPriority#LOWEST}, in the order they were added.
+     *
+     * @param time     The time to advance the wheel to.
+     * @param consumer The consumer of every expired task.
+     */
+    public void advance(long time, Consumer<SimpleTask> consumer) {
+        while (mTime <= time) {
+            final int index = (int) (mTime & WHEEL_MASK);
+            if (index == 0 && cascade(1) == 0 && cascade(2) == 0) {
+                cascade(3);
+            }
+            SimpleTask task = mHeads[0][index];
+            mHeads[0][index] = mTails[0][index] = null;
+            mTime++;
+
+            // Sort the slot by priority before handing them over.
+            while (task != null) {
+                final SimpleTask next = task.mNext;
+                task.mSlot = -1;
+                task.mPrevious = task.mNext = null;
+                if (task.getTime() >= mTime) {
+                    insert(task);
+                } else {
+                    final int bucket = task.getPriority().ordinal();
+                    if (mBucketHeads[bucket] == null) {
+                        mBucketHeads[bucket] = task;
+                    } else {
+                        mBucketTails[bucket].mNext = task;
+                    }
+                    mBucketTails[bucket] = task;
+                }
+                task = next;
+            }
+            for (int bucket = mBucketHeads.length - 1; bucket >= 0; bucket--) {
+                task = mBucketHeads[bucket];
+                mBucketHeads[bucket] = mBucketTails[bucket] = null;
+                while (task != null) {
+                    final SimpleTask next = task.mNext;
+                    task.mNext = null;
+                    mSize--;
+                    consumer.accept(task);
+                    task = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes the given consumer for each task in the wheel.
+     *
+     * @param consumer The consumer of every task.
+     */
+    public void forEach(Consumer<SimpleTask> consumer) {
+        for (final SimpleTask[] level : mHeads) {
+            for (SimpleTask task : level) {
+                while (task != null) {
+                    final SimpleTask next = task.mNext;
+                    consumer.accept(task);
+                    task = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all tasks from the wheel.
+     */
+    public void clear() {
+        for (int level = 0; level < WHEEL_LEVELS; level++) {
+            for (int index = 0; index < WHEEL_SIZE; index++) {
+                SimpleTask task = mHeads[level][index];
+                while (task != null) {
+                    final SimpleTask next = task.mNext;
+                    task.mSlot = -1;
+                    task.mPrevious = task.mNext = null;
+                    task = next;
+                }
+                mHeads[level][index] = mTails[level][index] = null;
+            }
+        }
+        mSize = 0;
+    }
+
+    /**
+     * Retrieves the time of the wheel.
+     *
+     * @return The next time to be expired by the wheel.
+     */
+    public long getTime() {
+        return mTime;
+    }
+
+    /**
+     * Retrieves how many tasks are in the wheel.
+     *
+     * @return The number of tasks in the wheel.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Links the given task into the slot that covers its due time.
+     *
+     * @param task The task to link into the wheel.
+     */
+    private void insert(SimpleTask task) {
+        final long delta = task.getTime() - mTime;
+
+        long time = task.getTime();
+        int level = 0;
+        if (delta < 0) {
+            time = mTime;
+        } else {
+            while (level < WHEEL_LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+                level++;
+            }
+            if (delta > WHEEL_SPAN) {
+                time = mTime + WHEEL_SPAN;
+            }
+        }
+        final int index = (int) ((time >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        task.mSlot = (level << WHEEL_BITS) | index;
+        task.mPrevious = mTails[level][index];
+        task.mNext = null;
+        if (mHeads[level][index] == null) {
+            mHeads[level][index] = task;
+        } else {
+            mTails[level][index].mNext = task;
+        }
+        mTails[level][index] = task;
+    }
+
+    /**
+     * Moves every task of the current slot of the given level into finer levels.
+     *
+     * @param level The level to cascade.
+     *
+     * @return The index of the slot that has been cascaded.
+     */
+    private int cascade(int level) {
+        final int index = (int) ((mTime >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+        SimpleTask task = mHeads[level][index];
+        mHeads[level][index] = mTails[level][index] = null;
+        while (task != null) {
+            final SimpleTask next = task.mNext;
+            insert(task);
+            task = next;
+        }
+        return index;
+    }
+}
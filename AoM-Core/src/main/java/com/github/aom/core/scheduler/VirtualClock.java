@@ -0,0 +1,66 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Define a {@link SchedulerClock} whose time only moves when waited on.
+ * <br/>
+ * Waiting for a deadline jumps the clock to it, so the scheduler executes ticks as fast as
+ * the processor allows while every task observes the same sequence of ticks.
+ */
+public final class VirtualClock implements SchedulerClock {
+    private volatile long mTime;
+
+    /**
+     * Default constructor for {@link VirtualClock}.
+     *
+     * @param time The time (in nanoseconds) where the clock starts.
+     */
+    public VirtualClock(long time) {
+        this.mTime = time;
+    }
+
+    /**
+     * Advances the time of the clock.
+     *
+     * @param nanoseconds The time (in nanoseconds) to advance.
+     */
+    public void advance(long nanoseconds) {
+        mTime += nanoseconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nanoTime() {
+        return mTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parkUntil(long deadline, BooleanSupplier condition) {
+        if (deadline - mTime > 0) {
+            mTime = deadline;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * This file is part of -AoM--Server, licensed under the APACHE License.
+ *
+ * Copyright (c) 2015 AoW Powered <https://github.com/AO-Modding>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aom.core.scheduler;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the {@link AsyncBulkhead} of {@link SimpleScheduler}.
+ */
+public final class AsyncBulkheadTest {
+    /**
+     * Define how many tasks are submitted into each lane.
+     */
+    private final static int TASKS_PER_LANE = 4;
+
+    /**
+     * Check that the limit of an owner holds across every lane of the scheduler.
+     */
+    @Test
+    public void testLimitAcrossLanes() throws Exception {
+        final SimpleScheduler scheduler = new SimpleScheduler(100);
+        final Object owner = new Object();
+        scheduler.setLaneCount(3);
+        scheduler.getAsyncPool().setMode(AsyncPool.Mode.CACHED);
+        scheduler.setBulkhead(owner, new AsyncBulkhead(2, 64, AsyncBulkhead.Policy.QUEUE));
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(scheduler.getLaneCount() * TASKS_PER_LANE);
+        for (int lane = 0; lane < scheduler.getLaneCount(); lane++) {
+            for (int i = 0; i < TASKS_PER_LANE; i++) {
+                scheduler.getLane(lane).invokeAsyncTask(owner, (T) -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20L);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    latch.countDown();
+                });
+            }
+        }
+
+        final Thread thread = new Thread(scheduler::start, "AoM-Test");
+        thread.start();
+        try {
+            assertTrue("Every task must be executed.", latch.await(10L, TimeUnit.SECONDS));
+        } finally {
+            scheduler.stop();
+            thread.join();
+        }
+        assertEquals("The limit must hold across every lane.", 2, peak.get());
+        assertEquals(0L, scheduler.getRejectedCount());
+    }
+}